@@ -6,6 +6,7 @@ plugins {
 	id("io.spring.dependency-management") version "1.1.4"
 	id("io.freefair.lombok") version "8.6"
 	id("io.sentry.jvm.gradle") version "4.8.0"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "hexlet.code"
@@ -50,13 +51,60 @@ dependencies {
 
 	//swagger
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.5.0")
+
+	//cache, metrics
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+	implementation("org.hibernate.orm:hibernate-micrometer")
+	implementation("net.ttddyy:datasource-proxy:1.10")
 }
 
 tasks.test {
-	useJUnitPlatform()
+	useJUnitPlatform {
+		excludeTags("benchmark", "load")
+	}
 	finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("benchmark") {
+	description = "Runs the benchmark-tagged tests and prints their measurements."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	testLogging.showStandardStreams = true
+	outputs.upToDateWhen { false }
+}
+
+tasks.register<Test>("loadTest") {
+	description = "Starts the application and drives a mixed REST workload at a fixed arrival rate."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	systemProperties(System.getProperties()
+		.filterKeys { it.toString().startsWith("load.") || it.toString().startsWith("spring.") }
+		.mapKeys { it.key.toString() })
+	testLogging.showStandardStreams = true
+	outputs.upToDateWhen { false }
+}
+
+jmh {
+	jmhVersion = "1.37"
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+	System.getProperty("jmh.includes")?.let { includes = listOf(it) }
+}
+
 tasks.jacocoTestReport {
 	dependsOn (tasks.test)
 	reports {
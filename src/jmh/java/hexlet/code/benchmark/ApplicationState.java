@@ -0,0 +1,81 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Starts the application once per fork against the in-memory database and prepares detached
+ * entities shaped like the ones the API maps on every request.
+ */
+@Getter
+@State(Scope.Benchmark)
+public class ApplicationState {
+    static final int LABELS_PER_TASK = 5;
+
+    private ConfigurableApplicationContext context;
+    private Task task;
+    private User user;
+    private Set<Long> labelIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false", "spring.main.banner-mode=off", "logging.level.root=warn")
+                .run();
+
+        TaskStatus taskStatus = context.getBean(TaskStatusRepository.class)
+                .save(new TaskStatus("Benchmark", "benchmark"));
+        List<Label> labels = context.getBean(LabelRepository.class).saveAll(IntStream.range(0, LABELS_PER_TASK)
+                .mapToObj(i -> new Label("benchmark label " + i))
+                .toList());
+        labelIds = labels.stream()
+                .map(Label::getId)
+                .collect(Collectors.toSet());
+
+        user = new User();
+        user.setId(1L);
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        user.setEmail("ada@example.com");
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+
+        task = new Task();
+        task.setId(1L);
+        task.setIndex(1);
+        task.setName("Prepare the quarterly report");
+        task.setDescription("Collect the numbers from every team and draft the summary.");
+        task.setTaskStatus(taskStatus);
+        task.setAssignee(user);
+        task.setLabels(new HashSet<>(labels));
+        task.setCreatedAt(Instant.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
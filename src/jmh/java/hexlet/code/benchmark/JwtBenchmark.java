@@ -0,0 +1,22 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.utils.JWTUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class JwtBenchmark {
+    private JWTUtils jwtUtils;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        jwtUtils = application.getContext().getBean(JWTUtils.class);
+    }
+
+    @Benchmark
+    public String generateToken(ApplicationState application) {
+        return jwtUtils.generateToken(application.getUser().getEmail(), application.getUser().getId());
+    }
+}
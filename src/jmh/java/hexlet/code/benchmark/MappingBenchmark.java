@@ -0,0 +1,72 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.mappers.ReferenceMapper;
+import hexlet.code.mappers.TaskMapper;
+import hexlet.code.mappers.UserMapper;
+import hexlet.code.model.Label;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.Set;
+
+@State(Scope.Thread)
+public class MappingBenchmark {
+    private TaskMapper taskMapper;
+    private UserMapper userMapper;
+    private ReferenceMapper referenceMapper;
+    private PlatformTransactionManager transactionManager;
+    private TransactionStatus transaction;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        taskMapper = application.getContext().getBean(TaskMapper.class);
+        userMapper = application.getContext().getBean(UserMapper.class);
+        referenceMapper = application.getContext().getBean(ReferenceMapper.class);
+        transactionManager = application.getContext().getBean(PlatformTransactionManager.class);
+    }
+
+    /**
+     * Label references are resolved inside the service transaction in production, so each iteration
+     * runs in one read-only transaction instead of paying for a new entity manager per call.
+     */
+    @Setup(Level.Iteration)
+    public void beginTransaction() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        transaction = transactionManager.getTransaction(definition);
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollbackTransaction() {
+        transactionManager.rollback(transaction);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto(ApplicationState application) {
+        return taskMapper.map(application.getTask());
+    }
+
+    @Benchmark
+    public UserDTO userToDto(ApplicationState application) {
+        return userMapper.map(application.getUser());
+    }
+
+    @Benchmark
+    public Set<Label> labelsIdToLabels(ApplicationState application) {
+        return referenceMapper.labelsIdToLabels(application.getLabelIds());
+    }
+
+    @Benchmark
+    public Set<Long> labelsToLabelsIds(ApplicationState application) {
+        return referenceMapper.labelsToLabelsIds(application.getTask().getLabels());
+    }
+}
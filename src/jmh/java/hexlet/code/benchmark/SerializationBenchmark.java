@@ -0,0 +1,48 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.mappers.TaskMapper;
+import hexlet.code.mappers.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.List;
+
+@State(Scope.Thread)
+public class SerializationBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectMapper objectMapper;
+    private TaskDTO task;
+    private List<TaskDTO> page;
+    private UserDTO user;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        objectMapper = application.getContext().getBean(ObjectMapper.class);
+        task = application.getContext().getBean(TaskMapper.class).map(application.getTask());
+        page = Collections.nCopies(PAGE_SIZE, task);
+        user = application.getContext().getBean(UserMapper.class).map(application.getUser());
+    }
+
+    @Benchmark
+    public byte[] task() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] taskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+}
@@ -0,0 +1,53 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.model.Task;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+@State(Scope.Thread)
+public class SpecificationBenchmark {
+    @Param({"none", "status", "all"})
+    private String filters;
+
+    private TaskSpecification taskSpecification;
+    private CriteriaBuilder criteriaBuilder;
+    private TaskParamDTO taskParamDTO;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        taskSpecification = application.getContext().getBean(TaskSpecification.class);
+        criteriaBuilder = application.getContext().getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        taskParamDTO = new TaskParamDTO();
+        if (!"none".equals(filters)) {
+            taskParamDTO.setStatus("benchmark");
+        }
+        if ("all".equals(filters)) {
+            taskParamDTO.setTitleCont("quarterly report");
+            taskParamDTO.setAssigneeId(1L);
+            taskParamDTO.setLabelId(application.getLabelIds().iterator().next());
+        }
+    }
+
+    @Benchmark
+    public Specification<Task> build() {
+        return taskSpecification.build(taskParamDTO);
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        CriteriaQuery<Task> query = criteriaBuilder.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        return taskSpecification.build(taskParamDTO).toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,104 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps immutable snapshots of labels indexed by id and by name. The full list is only cached
+ * while it fits into the size bound, so huge label sets fall back to the database. Every cache is filled only
+ * through the striped loader, under the lock of the key filled, so an eviction cannot be undone by a load that
+ * read the row before the write.
+ */
+@Component
+public class LabelCache {
+    private static final String ALL = "all";
+
+    private final LabelRepository labelRepository;
+    private final long maxSize;
+    private final Cache<Long, Snapshot> byId;
+    private final Cache<String, Snapshot> byName;
+    private final Cache<String, List<Snapshot>> all;
+    private final StripedLoader loader = new StripedLoader();
+
+    public LabelCache(LabelRepository labelRepository, MeterRegistry meterRegistry,
+                      @Value("${app.cache.labels.max-size:10000}") long maxSize) {
+        this.labelRepository = labelRepository;
+        this.maxSize = maxSize;
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.byName = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.all = Caffeine.newBuilder().maximumSize(1).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "labelsById");
+        CaffeineCacheMetrics.monitor(meterRegistry, byName, "labelsByName");
+        CaffeineCacheMetrics.monitor(meterRegistry, all, "labels");
+    }
+
+    public Optional<Label> findById(Long id) {
+        return Optional.ofNullable(loader.get(byId, id, key -> labelRepository.findById(key)
+                        .map(Snapshot::of)
+                        .orElse(null)))
+                .map(Snapshot::toEntity);
+    }
+
+    public Optional<Label> findByName(String name) {
+        return Optional.ofNullable(loader.get(byName, name, key -> labelRepository.findByName(key)
+                        .map(Snapshot::of)
+                        .orElse(null)))
+                .map(Snapshot::toEntity);
+    }
+
+    /**
+     * Returns the ids from the given set that exist, loading only the ones not cached yet.
+     */
+    public Set<Long> findExistingIds(Set<Long> ids) {
+        return loader.getAll(byId, ids, missing -> labelRepository.findByIdIn(missing).stream()
+                        .map(Snapshot::of)
+                        .collect(Collectors.toMap(Snapshot::id, Function.identity())))
+                .keySet();
+    }
+
+    public List<Label> findAll() {
+        List<Snapshot> snapshots = loader.get(all, ALL, key -> labelRepository.findAll().stream()
+                .map(Snapshot::of)
+                .toList(), loaded -> loaded.size() <= maxSize);
+        return snapshots.stream()
+                .map(Snapshot::toEntity)
+                .toList();
+    }
+
+    public void evict(Long id, String... names) {
+        loader.invalidate(byId, List.of(id));
+        loader.invalidate(byName, List.of(names));
+        loader.invalidate(all, List.of(ALL));
+    }
+
+    public void evictAll() {
+        loader.invalidateAll(byId, byName, all);
+    }
+
+    private record Snapshot(Long id, String name, Instant createdAt, Long version) {
+        private static Snapshot of(Label label) {
+            return new Snapshot(label.getId(), label.getName(), label.getCreatedAt(), label.getVersion());
+        }
+
+        private Label toEntity() {
+            Label label = new Label(name);
+            label.setId(id);
+            label.setCreatedAt(createdAt);
+            label.setVersion(version);
+            return label;
+        }
+    }
+}
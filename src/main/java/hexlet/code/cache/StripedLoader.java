@@ -0,0 +1,127 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Loads cache misses under striped {@link ReentrantLock}s instead of inside Caffeine's compute, which holds a
+ * monitor and would pin a virtual thread for the whole database round trip. Invalidations take the same stripe,
+ * so a load that read the old row cannot put it back after a writer has evicted it.
+ */
+final class StripedLoader {
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    StripedLoader() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    <K, V> V get(Cache<K, V> cache, K key, Function<K, V> loader) {
+        return get(cache, key, loader, value -> true);
+    }
+
+    /**
+     * Loads like {@link #get(Cache, Object, Function)} but only caches values accepted by {@code cacheable}.
+     */
+    <K, V> V get(Cache<K, V> cache, K key, Function<K, V> loader, Predicate<V> cacheable) {
+        V value = cache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            value = cache.asMap().get(key);
+            if (value == null) {
+                value = loader.apply(key);
+                if (value != null && cacheable.test(value)) {
+                    cache.put(key, value);
+                }
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads all missing keys with one call while holding their stripes, taken in stripe order so concurrent
+     * bulk loads cannot deadlock. Keys the loader does not return are absent from the result.
+     */
+    <K, V> Map<K, V> getAll(Cache<K, V> cache, Set<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> values = new HashMap<>(cache.getAllPresent(keys));
+        if (values.size() == keys.size()) {
+            return values;
+        }
+        Map<Integer, ReentrantLock> stripes = new TreeMap<>();
+        keys.stream()
+                .filter(key -> !values.containsKey(key))
+                .forEach(key -> stripes.put(stripeOf(key), lockFor(key)));
+        stripes.values().forEach(ReentrantLock::lock);
+        try {
+            Set<K> missing = new HashSet<>();
+            for (K key : keys) {
+                V value = values.containsKey(key) ? values.get(key) : cache.asMap().get(key);
+                if (value == null) {
+                    missing.add(key);
+                } else {
+                    values.put(key, value);
+                }
+            }
+            if (!missing.isEmpty()) {
+                Map<K, V> loaded = loader.apply(missing);
+                cache.putAll(loaded);
+                values.putAll(loaded);
+            }
+            return values;
+        } finally {
+            stripes.values().forEach(ReentrantLock::unlock);
+        }
+    }
+
+    <K> void invalidate(Cache<K, ?> cache, Iterable<K> keys) {
+        keys.forEach(key -> {
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                cache.invalidate(key);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    void invalidateAll(Cache<?, ?>... caches) {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            for (Cache<?, ?> cache : caches) {
+                cache.invalidateAll();
+            }
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock lockFor(Object key) {
+        return locks[stripeOf(key)];
+    }
+
+    private static int stripeOf(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+}
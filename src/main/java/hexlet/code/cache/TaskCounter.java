@@ -0,0 +1,150 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.specification.TaskSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Task counts per single filter, loaded once and then moved by committed writes. Keys come from request
+ * parameters, so the counters live in a bounded cache, and they expire after a while so any drift from writes
+ * racing a load, or made behind the services' back, does not outlive the ttl.
+ */
+@Component
+public class TaskCounter {
+    private static final String ALL = "all";
+
+    private final TaskRepository taskRepository;
+    private final TaskSpecification taskSpecification;
+    private final Cache<String, Counter> counters;
+
+    public TaskCounter(TaskRepository taskRepository, TaskSpecification taskSpecification,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.cache.task-counts.ttl:5m}") Duration ttl,
+                       @Value("${app.cache.task-counts.max-size:10000}") long maxSize) {
+        this.taskRepository = taskRepository;
+        this.taskSpecification = taskSpecification;
+        this.counters = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "taskCounts");
+    }
+
+    public long count(TaskParamDTO taskParamDTO) {
+        String key = keyOf(taskParamDTO);
+        if (key == null) {
+            return taskRepository.count(taskSpecification.build(taskParamDTO));
+        }
+        Counter counter = counters.get(key, k -> new Counter());
+        counter.lock.lock();
+        try {
+            if (!counter.loaded) {
+                counter.value = taskRepository.count(taskSpecification.build(taskParamDTO));
+                counter.loaded = true;
+            }
+            return counter.value;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        counters.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        keysOf(event.before()).forEach(key -> adjust(key, -1));
+        keysOf(event.after()).forEach(key -> adjust(key, 1));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        invalidateAll();
+    }
+
+    private void adjust(String key, long delta) {
+        Counter counter = counters.getIfPresent(key);
+        if (counter == null) {
+            return;
+        }
+        counter.lock.lock();
+        try {
+            counter.value += delta;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    private static String keyOf(TaskParamDTO taskParamDTO) {
+        if (taskParamDTO.getTitleCont() != null) {
+            return null;
+        }
+        List<String> filters = new ArrayList<>();
+        if (taskParamDTO.getAssigneeId() != null) {
+            filters.add(assigneeKey(taskParamDTO.getAssigneeId()));
+        }
+        if (taskParamDTO.getStatus() != null) {
+            filters.add(statusKey(taskParamDTO.getStatus()));
+        }
+        if (taskParamDTO.getLabelId() != null) {
+            filters.add(labelKey(taskParamDTO.getLabelId()));
+        }
+        if (filters.size() > 1) {
+            return null;
+        }
+        return filters.isEmpty() ? ALL : filters.get(0);
+    }
+
+    private static List<String> keysOf(TaskDTO task) {
+        List<String> keys = new ArrayList<>();
+        if (task == null) {
+            return keys;
+        }
+        keys.add(ALL);
+        keys.add(statusKey(task.getStatus()));
+        if (task.getAssigneeId() != null) {
+            keys.add(assigneeKey(task.getAssigneeId()));
+        }
+        task.getTaskLabelIds().forEach(labelId -> keys.add(labelKey(labelId)));
+        return keys;
+    }
+
+    private static String assigneeKey(Long assigneeId) {
+        return "assignee:" + assigneeId;
+    }
+
+    private static String statusKey(String status) {
+        return "status:" + status;
+    }
+
+    private static String labelKey(Long labelId) {
+        return "label:" + labelId;
+    }
+
+    /**
+     * Loads and adjusts under a {@link ReentrantLock} rather than inside the cache's compute, so the count query
+     * does not hold a monitor and pin the carrier when requests run on virtual threads.
+     */
+    private static final class Counter {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long value;
+        private boolean loaded;
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps immutable snapshots of task statuses and hands out fresh detached copies,
+ * so callers never share an instance and the snapshots never enter a persistence context.
+ */
+@Component
+public class TaskStatusCache {
+    private static final String ALL = "all";
+
+    private final TaskStatusRepository taskStatusRepository;
+    private final Cache<String, Snapshot> bySlug;
+    private final Cache<Long, Snapshot> byId;
+    private final Cache<String, List<Snapshot>> all;
+    private final StripedLoader loader = new StripedLoader();
+
+    public TaskStatusCache(TaskStatusRepository taskStatusRepository, MeterRegistry meterRegistry,
+                           @Value("${app.cache.task-statuses.max-size:1000}") long maxSize) {
+        this.taskStatusRepository = taskStatusRepository;
+        this.bySlug = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.all = Caffeine.newBuilder().maximumSize(1).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bySlug, "taskStatusesBySlug");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "taskStatusesById");
+        CaffeineCacheMetrics.monitor(meterRegistry, all, "taskStatuses");
+    }
+
+    public Optional<TaskStatus> findBySlug(String slug) {
+        return Optional.ofNullable(loader.get(bySlug, slug, key -> taskStatusRepository.findBySlug(key)
+                        .map(Snapshot::of)
+                        .orElse(null)))
+                .map(Snapshot::toEntity);
+    }
+
+    public Optional<TaskStatus> findById(Long id) {
+        return Optional.ofNullable(loader.get(byId, id, key -> taskStatusRepository.findById(key)
+                        .map(Snapshot::of)
+                        .orElse(null)))
+                .map(Snapshot::toEntity);
+    }
+
+    public List<TaskStatus> findAll() {
+        return loader.get(all, ALL, key -> taskStatusRepository.findAll().stream()
+                        .map(Snapshot::of)
+                        .toList())
+                .stream()
+                .map(Snapshot::toEntity)
+                .toList();
+    }
+
+    public void evict(Long id, String... slugs) {
+        loader.invalidate(byId, List.of(id));
+        loader.invalidate(bySlug, List.of(slugs));
+        loader.invalidate(all, List.of(ALL));
+    }
+
+    public void evictAll() {
+        loader.invalidateAll(byId, bySlug, all);
+    }
+
+    private record Snapshot(Long id, String name, String slug, Instant createdAt, Long version) {
+        private static Snapshot of(TaskStatus taskStatus) {
+            return new Snapshot(taskStatus.getId(), taskStatus.getName(), taskStatus.getSlug(),
+                    taskStatus.getCreatedAt(), taskStatus.getVersion());
+        }
+
+        private TaskStatus toEntity() {
+            TaskStatus taskStatus = new TaskStatus(name, slug);
+            taskStatus.setId(id);
+            taskStatus.setCreatedAt(createdAt);
+            taskStatus.setVersion(version);
+            return taskStatus;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves principals for tokens issued without the user id claim. Entries live only for a short
+ * time and are evicted when the user changes, so a renamed or deleted user loses access promptly.
+ */
+@Component
+public class UserPrincipalCache {
+    private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> byEmail;
+    private final StripedLoader loader = new StripedLoader();
+
+    public UserPrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                              @Value("${app.cache.principals.ttl:60s}") Duration ttl,
+                              @Value("${app.cache.principals.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.byEmail = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "userPrincipals");
+    }
+
+    public Optional<UserPrincipal> findByEmail(String email) {
+        return Optional.ofNullable(loader.get(byEmail, email, key -> userRepository.findByEmail(key)
+                .map(user -> new UserPrincipal(user.getId(), user.getEmail()))
+                .orElse(null)));
+    }
+
+    public void evict(String... emails) {
+        loader.invalidate(byEmail, List.of(emails));
+    }
+}
@@ -0,0 +1,40 @@
+package hexlet.code.component;
+
+import hexlet.code.exception.PasswordHashingRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP basic entry point that answers a rejected password check like {@code /api/login} does, with 429 or 503 and
+ * Retry-After, instead of a 401 that would make clients re-prompt for credentials that may well be right.
+ */
+@Component
+public class HashingAwareEntryPoint extends BasicAuthenticationEntryPoint {
+    public HashingAwareEntryPoint() {
+        setRealmName("Realm");
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        if (!(authException instanceof PasswordHashingRejectedException rejected)) {
+            super.commence(request, response, authException);
+            return;
+        }
+        HttpStatus status = rejected.isSaturated() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(rejected.getMessage());
+    }
+}
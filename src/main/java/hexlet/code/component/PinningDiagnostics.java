@@ -0,0 +1,60 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR pinning events while the application runs, so a virtual thread that blocks on JDBC while
+ * holding a monitor shows up in the log with the frames that held it and in the {@code threads.virtual.pinned}
+ * counter.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.threads.pinning-diagnostics.enabled", havingValue = "true")
+public class PinningDiagnostics implements DisposableBean {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream;
+    private final Counter pinned;
+
+    public PinningDiagnostics(MeterRegistry meterRegistry,
+                              @Value("${app.threads.pinning-diagnostics.threshold:20ms}") Duration threshold) {
+        this.pinned = Counter.builder("threads.virtual.pinned").register(meterRegistry);
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        String frames = event.getStackTrace() == null ? "no stack trace" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(PinningDiagnostics::format)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        log.warn("Virtual thread {} pinned its carrier for {} ms{}", event.getThread().getJavaName(),
+                event.getDuration().toMillis(), frames);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+}
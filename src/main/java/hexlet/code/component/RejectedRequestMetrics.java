@@ -0,0 +1,37 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authorization.event.AuthorizationDeniedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts requests turned away by Spring Security, next to the hashing rejections counted by
+ * {@link BoundedPasswordEncoder}.
+ */
+@Component
+public class RejectedRequestMetrics {
+    private final Counter authenticationFailures;
+    private final Counter authorizationDenials;
+
+    public RejectedRequestMetrics(MeterRegistry meterRegistry) {
+        this.authenticationFailures = Counter.builder("security.requests.rejected")
+                .tag("reason", "authentication")
+                .register(meterRegistry);
+        this.authorizationDenials = Counter.builder("security.requests.rejected")
+                .tag("reason", "authorization")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onAuthenticationFailure(AbstractAuthenticationFailureEvent event) {
+        authenticationFailures.increment();
+    }
+
+    @EventListener
+    public void onAuthorizationDenied(AuthorizationDeniedEvent<?> event) {
+        authorizationDenials.increment();
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.component;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves id sequences past the ids that were generated by identity columns before the entities
+ * switched to pooled sequences, so the first allocated block never collides with existing rows. Runs before the
+ * web server starts, so no request can allocate ids from a sequence that has not been moved yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceInitializer implements SmartInitializingSingleton {
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "task_seq", "task",
+            "users_seq", "users",
+            "label_seq", "label",
+            "task_status_seq", "task_status"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next != null && maxId != null && next < maxId + ALLOCATION_SIZE) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+                log.info("Sequence {} restarted after id {}", sequence, maxId);
+            }
+        });
+    }
+}
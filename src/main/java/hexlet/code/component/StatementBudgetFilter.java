@@ -0,0 +1,60 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Measures the JDBC statements and database time of every request and warns about requests
+ * that run more statements than the configured budget.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    private final StatementCounter statementCounter;
+    private final long budget;
+    private final DistributionSummary statements;
+    private final Timer databaseTime;
+
+    public StatementBudgetFilter(StatementCounter statementCounter, MeterRegistry meterRegistry,
+                                 @Value("${app.jdbc.statement-budget:20}") long budget) {
+        this.statementCounter = statementCounter;
+        this.budget = budget;
+        this.statements = DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .baseUnit("statements")
+                .register(meterRegistry);
+        this.databaseTime = Timer.builder("http.server.requests.jdbc.time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.Scope scope = statementCounter.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            statements.record(scope.getStatements());
+            databaseTime.record(Duration.ofMillis(scope.getElapsedMillis()));
+            if (scope.getStatements() > budget) {
+                log.warn("{} {} ran {} JDBC statements in {} ms, over the budget of {}", request.getMethod(),
+                        request.getRequestURI(), scope.getStatements(), scope.getElapsedMillis(), budget);
+            }
+        }
+    }
+}
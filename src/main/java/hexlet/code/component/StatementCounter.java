@@ -0,0 +1,64 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts JDBC executions made by the current thread while a scope is open. A batch counts as one
+ * statement. Scopes nest, so a test can wrap a request that the filter measures as well.
+ */
+@Component
+public class StatementCounter implements QueryExecutionListener {
+    private final ThreadLocal<List<Scope>> scopes = new ThreadLocal<>();
+
+    public Scope open() {
+        List<Scope> open = scopes.get();
+        if (open == null) {
+            open = new ArrayList<>();
+            scopes.set(open);
+        }
+        Scope scope = new Scope();
+        open.add(scope);
+        return scope;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        List<Scope> open = scopes.get();
+        if (open == null) {
+            return;
+        }
+        open.forEach(scope -> {
+            scope.statements++;
+            scope.elapsedMillis += executionInfo.getElapsedTime();
+        });
+    }
+
+    @Getter
+    public final class Scope implements AutoCloseable {
+        private long statements;
+        private long elapsedMillis;
+
+        @Override
+        public void close() {
+            List<Scope> open = scopes.get();
+            if (open == null) {
+                return;
+            }
+            open.remove(this);
+            if (open.isEmpty()) {
+                scopes.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.utils.TrigramUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process fan-out of committed task changes to SSE subscribers. Every subscriber has its own bounded
+ * buffer and its own drain, so a stalled socket only blocks the thread writing to it. A subscriber that falls a
+ * full buffer behind gets a resync hint and is disconnected; one whose write misses the send timeout is
+ * disconnected without it. Drains run on a bounded pool; a subscriber whose drain the pool cannot take is
+ * disconnected as well, so stalled sockets cannot make the feed spawn threads without limit.
+ */
+@Component
+public class TaskChangeFeed implements DisposableBean {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter droppedSubscribers;
+
+    @Autowired
+    public TaskChangeFeed(MeterRegistry meterRegistry,
+                          @Value("${app.tasks.stream.buffer-size:256}") int bufferSize,
+                          @Value("${app.tasks.stream.timeout:30m}") Duration timeout,
+                          @Value("${app.tasks.stream.heartbeat:15s}") Duration heartbeat,
+                          @Value("${app.tasks.stream.send-timeout:10s}") Duration sendTimeout,
+                          @Value("${app.tasks.stream.senders:32}") int senders,
+                          @Value("${app.tasks.stream.send-queue:1024}") int sendQueue) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.senders = new ThreadPoolExecutor(senders, senders, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(sendQueue), new CustomizableThreadFactory("task-stream-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.senders.allowCoreThreadTimeOut(true);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("task-stream-heartbeat-"));
+        this.heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+        long check = Math.max(sendTimeout.toMillis() / 4, 10);
+        this.heartbeats.scheduleAtFixedRate(this::dropStalled, check, check, TimeUnit.MILLISECONDS);
+        Gauge.builder("tasks.stream.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("tasks.stream.dropped")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(TaskParamDTO filter) {
+        return subscribe(filter, new SseEmitter(timeout.toMillis()));
+    }
+
+    public SseEmitter subscribe(TaskParamDTO filter, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscriber.close());
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            boolean before = matches(subscriber.filter, event.before());
+            boolean after = matches(subscriber.filter, event.after());
+            if (after) {
+                subscriber.offer(change(before ? "updated" : "created", event.after()));
+            } else if (before) {
+                subscriber.offer(change("deleted", event.before()));
+            }
+        }
+    }
+
+    /**
+     * Bulk writes do not carry the changed rows, so every subscriber is asked to reload.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        subscribers.forEach(subscriber -> subscriber.offer(resync("bulk")));
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Mirrors TaskSpecification for a single task, so entering or leaving the filter reads as created or deleted.
+     */
+    static boolean matches(TaskParamDTO filter, TaskDTO task) {
+        if (task == null) {
+            return false;
+        }
+        if (filter.getStatus() != null && !filter.getStatus().equals(task.getStatus())) {
+            return false;
+        }
+        if (filter.getAssigneeId() != null && !filter.getAssigneeId().equals(task.getAssigneeId())) {
+            return false;
+        }
+        if (filter.getLabelId() != null
+                && (task.getTaskLabelIds() == null || !task.getTaskLabelIds().contains(filter.getLabelId()))) {
+            return false;
+        }
+        if (filter.getTitleCont() != null) {
+            String needle = TrigramUtils.normalize(filter.getTitleCont());
+            return contains(task.getTitle(), needle) || contains(task.getContent(), needle);
+        }
+        return true;
+    }
+
+    private static boolean contains(String text, String needle) {
+        return text != null && TrigramUtils.normalize(text).contains(needle);
+    }
+
+    private static SseEmitter.SseEventBuilder change(String type, TaskDTO task) {
+        return SseEmitter.event().name(type).data(task, MediaType.APPLICATION_JSON);
+    }
+
+    private static SseEmitter.SseEventBuilder resync(String reason) {
+        return SseEmitter.event().name("resync").data(Map.of("reason", reason), MediaType.APPLICATION_JSON);
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat")));
+    }
+
+    /**
+     * A write stuck on a dead or unread socket cannot be interrupted, and completing the emitter waits for that
+     * write; the subscriber is detached here and completed by its drain once the write returns.
+     */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        subscribers.stream()
+                .filter(subscriber -> subscriber.isStalled(now))
+                .forEach(subscriber -> {
+                    droppedSubscribers.increment();
+                    subscriber.abandon();
+                });
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final TaskParamDTO filter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, TaskParamDTO filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (overflowed || closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                overflowed = true;
+                buffer.clear();
+                droppedSubscribers.increment();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    droppedSubscribers.increment();
+                    closed = true;
+                    subscribers.remove(this);
+                    buffer.clear();
+                    complete();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    send(event);
+                }
+                if (overflowed && !closed) {
+                    send(resync("overflow"));
+                    close();
+                }
+            } catch (IOException | IllegalStateException e) {
+                completed.set(true);
+                closed = true;
+                subscribers.remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (closed) {
+                finish();
+            } else if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedAt = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+
+        private boolean isStalled(long now) {
+            long startedAt = sendStartedAt;
+            return !closed && startedAt != 0 && now - startedAt > sendTimeout.toNanos();
+        }
+
+        /**
+         * Detaches the subscriber without touching the emitter. Whoever holds the drain flag completes it once
+         * its write returns; if nobody does, it is completed right here, as no write can be in progress.
+         */
+        private void abandon() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            finish();
+        }
+
+        private void finish() {
+            if (draining.compareAndSet(false, true)) {
+                complete();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            complete();
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
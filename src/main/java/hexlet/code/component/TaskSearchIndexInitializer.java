@@ -0,0 +1,21 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the task search index for drift on startup. Runs once all singletons exist but before the web server
+ * starts, so no search is answered from an index that is still being rebuilt.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndexInitializer implements SmartInitializingSingleton {
+    private final TaskSearchIndex taskSearchIndex;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        taskSearchIndex.repair();
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskViewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator command for drift recovery of the task_view read model: {@code POST /actuator/taskview} rebuilds it
+ * from the task tables.
+ */
+@Component
+@Endpoint(id = "taskview")
+@RequiredArgsConstructor
+public class TaskViewEndpoint {
+    private final TaskViewService taskViewService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("enabled", taskViewService.isEnabled(), "serving", taskViewService.isServing());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("tasks", taskViewService.rebuild());
+    }
+}
@@ -0,0 +1,25 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskViewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the task_view read model on startup: writes made while it was disabled were not projected. Runs once
+ * all singletons exist but before the web server starts, so no request sees the stale view.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskViewInitializer implements SmartInitializingSingleton {
+    private final TaskViewService taskViewService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (taskViewService.isEnabled()) {
+            log.info("Task view rebuilt with {} tasks", taskViewService.rebuild());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the outbox in batches: every endpoint receives its due events as one JSON array per request, with one
+ * request in flight per endpoint. Failed batches are retried with exponential backoff until max-attempts, and
+ * nothing newer goes to that endpoint meanwhile, so an endpoint sees the events in the order they were written
+ * until one of them is abandoned. Delivery is at least once, so receivers should deduplicate by event id.
+ */
+@Component
+@Slf4j
+public class WebhookDispatcher implements DisposableBean {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final WebhookProperties properties;
+    private final List<Endpoint> endpoints;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final HttpClient httpClient;
+
+    public WebhookDispatcher(OutboxEventRepository outboxEventRepository, TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry, WebhookProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.endpoints = properties.getEndpoints().stream()
+                .map(Endpoint::new)
+                .toList();
+        this.executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("webhook-"));
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getTimeout())
+                .executor(executor)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("webhook-dispatcher-"));
+    }
+
+    @PostConstruct
+    void start() {
+        purgeRemovedEndpoints();
+        if (!endpoints.isEmpty()) {
+            long interval = properties.getPollInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::dispatch, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Events queued for endpoints that are no longer configured would never be delivered, so they are dropped.
+     */
+    void purgeRemovedEndpoints() {
+        Integer purged = transactionTemplate.execute(status -> {
+            if (endpoints.isEmpty()) {
+                long count = outboxEventRepository.count();
+                outboxEventRepository.deleteAllInBatch();
+                return (int) count;
+            }
+            return outboxEventRepository.deleteByEndpointNotIn(endpoints.stream()
+                    .map(endpoint -> endpoint.url)
+                    .toList());
+        });
+        if (purged != null && purged > 0) {
+            log.info("Dropped {} webhook events of endpoints no longer configured", purged);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    void dispatch() {
+        try {
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.inFlight.compareAndSet(false, true)) {
+                    List<OutboxEvent> batch = claim(endpoint);
+                    if (batch.isEmpty()) {
+                        endpoint.inFlight.set(false);
+                    } else {
+                        deliver(endpoint, batch);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Webhook dispatch failed", e);
+        }
+    }
+
+    /**
+     * Leases the oldest pending events of an endpoint for twice the request timeout, so a batch in flight is not
+     * picked up again by the next poll. The batch stops at the first event that is not due yet: one waiting for
+     * a retry holds back everything written after it.
+     */
+    private List<OutboxEvent> claim(Endpoint endpoint) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> batch = outboxEventRepository.findPending(endpoint.url,
+                            PageRequest.of(0, properties.getBatchSize())).stream()
+                    .takeWhile(event -> !event.getNextAttemptAt().isAfter(now))
+                    .toList();
+            batch.forEach(event -> event.setNextAttemptAt(now.plus(properties.getTimeout().multipliedBy(2))));
+            return batch;
+        });
+    }
+
+    private void deliver(Endpoint endpoint, List<OutboxEvent> batch) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(endpoint.uri)
+                    .timeout(properties.getTimeout())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(body(batch)))
+                    .build();
+        } catch (RuntimeException e) {
+            endpoint.inFlight.set(false);
+            throw e;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    try {
+                        boolean delivered = error == null && response.statusCode() / 100 == 2;
+                        sample.stop(meterRegistry.timer("webhooks.delivery",
+                                "endpoint", endpoint.name, "outcome", delivered ? "success" : "failure"));
+                        if (delivered) {
+                            outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+                            count(endpoint, "delivered", batch.size());
+                        } else {
+                            retry(endpoint, batch, error != null ? error.toString() : "HTTP " + response.statusCode());
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Recording webhook delivery to {} failed", endpoint.name, e);
+                    } finally {
+                        endpoint.inFlight.set(false);
+                    }
+                });
+    }
+
+    private void retry(Endpoint endpoint, List<OutboxEvent> batch, String error) {
+        Instant now = Instant.now();
+        int abandoned = 0;
+        for (OutboxEvent event : batch) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (event.getAttempts() >= properties.getMaxAttempts()) {
+                event.setNextAttemptAt(null);
+                abandoned++;
+            } else {
+                event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+            }
+        }
+        outboxEventRepository.saveAll(batch);
+        count(endpoint, "retried", batch.size() - abandoned);
+        count(endpoint, "abandoned", abandoned);
+        log.warn("Webhook delivery of {} events to {} failed: {}", batch.size(), endpoint.name, error);
+    }
+
+    Duration backoff(int attempts) {
+        Duration max = properties.getMaxBackoff();
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private String body(List<OutboxEvent> batch) {
+        ArrayNode events = objectMapper.createArrayNode();
+        batch.forEach(event -> events.addObject()
+                .put("id", event.getId())
+                .put("type", event.getEventType())
+                .put("taskId", event.getTaskId())
+                .put("occurredAt", event.getCreatedAt().toString())
+                .putRawValue("data", new RawValue(event.getPayload())));
+        try {
+            return objectMapper.writeValueAsString(events);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void count(Endpoint endpoint, String outcome, int events) {
+        if (events > 0) {
+            Counter.builder("webhooks.events")
+                    .tag("endpoint", endpoint.name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(events);
+        }
+    }
+
+    /**
+     * Metrics are tagged with the endpoint authority only, so paths and query strings carrying secrets stay
+     * out of them.
+     */
+    private static final class Endpoint {
+        private final String url;
+        private final URI uri;
+        private final String name;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+
+        private Endpoint(String url) {
+            this.url = url;
+            this.uri = URI.create(url);
+            this.name = uri.getAuthority();
+        }
+    }
+}
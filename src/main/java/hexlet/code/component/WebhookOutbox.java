@@ -0,0 +1,87 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records task changes for webhook delivery inside the transaction that made them, so an event is stored
+ * exactly when its change commits. Delivery itself is left to WebhookDispatcher.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebhookOutbox {
+    /**
+     * Keeps a bulk event's payload well inside the payload column, whatever the size of the bulk patch.
+     */
+    static final int BULK_CHUNK_SIZE = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final WebhookProperties webhookProperties;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.before() == null) {
+            write("task.created", event.after());
+        } else if (event.after() == null) {
+            write("task.deleted", event.before());
+        } else {
+            write("task.updated", event.after());
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        List<Long> taskIds = event.taskIds();
+        for (int from = 0; from < taskIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, taskIds.size()));
+            write("tasks.bulk_updated", null, Map.of("taskIds", chunk));
+        }
+    }
+
+    private void write(String eventType, TaskDTO task) {
+        write(eventType, task.getId(), task);
+    }
+
+    private void write(String eventType, Long taskId, Object data) {
+        if (webhookProperties.getEndpoints().isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        Instant now = Instant.now();
+        outboxEventRepository.saveAll(webhookProperties.getEndpoints().stream()
+                .map(endpoint -> {
+                    OutboxEvent outboxEvent = new OutboxEvent();
+                    outboxEvent.setEndpoint(endpoint);
+                    outboxEvent.setEventType(eventType);
+                    outboxEvent.setTaskId(taskId);
+                    outboxEvent.setPayload(payload);
+                    outboxEvent.setCreatedAt(now);
+                    outboxEvent.setNextAttemptAt(now);
+                    return outboxEvent;
+                })
+                .toList());
+    }
+}
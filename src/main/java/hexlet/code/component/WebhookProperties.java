@@ -0,0 +1,24 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.webhooks")
+@Setter
+@Getter
+public class WebhookProperties {
+    private List<String> endpoints = new ArrayList<>();
+    private int batchSize = 50;
+    private int maxAttempts = 10;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration timeout = Duration.ofSeconds(5);
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
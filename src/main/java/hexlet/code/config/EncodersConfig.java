@@ -6,12 +6,13 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import hexlet.code.component.CachingJwtDecoder;
 import hexlet.code.component.RsaKeyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
@@ -22,11 +23,6 @@ import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 public class EncodersConfig {
     private final RsaKeyProperties rsaKeys;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public JwtEncoder jwtEcnoder() {
         JWK jwk = new RSAKey.Builder(rsaKeys.getPublicKey()).privateKey(rsaKeys.getPrivateKey()).build();
@@ -35,7 +31,8 @@ public class EncodersConfig {
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry, @Value("${app.cache.jwts.max-size:10000}") long maxSize) {
+        return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build(),
+                meterRegistry, maxSize);
     }
 }
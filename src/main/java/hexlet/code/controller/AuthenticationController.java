@@ -1,11 +1,13 @@
 package hexlet.code.controller;
 
 import hexlet.code.dto.AuthRequest;
+import hexlet.code.model.User;
 import hexlet.code.utils.JWTUtils;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,8 +21,9 @@ public class AuthenticationController {
 
     @PostMapping(path = "/api/login")
     public String createAuthenticationByToken(@RequestBody AuthRequest authRequest) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 authRequest.getUsername(), authRequest.getPassword()));
-        return jwtUtils.generateToken(authRequest.getUsername());
+        User user = (User) authentication.getPrincipal();
+        return jwtUtils.generateToken(authRequest.getUsername(), user.getId());
     }
 }
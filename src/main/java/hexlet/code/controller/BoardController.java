@@ -0,0 +1,26 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.BoardColumnDTO;
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.service.BoardService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/board")
+@RequiredArgsConstructor
+@Tag(name = "Board")
+public class BoardController {
+    private final BoardService boardService;
+
+    @GetMapping(path = "")
+    public List<BoardColumnDTO> index(@Valid TaskParamDTO taskParamDTO) {
+        return boardService.getBoard(taskParamDTO);
+    }
+}
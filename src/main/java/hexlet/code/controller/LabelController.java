@@ -4,20 +4,25 @@ import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
 import hexlet.code.dto.LabelUpdateDTO;
 import hexlet.code.service.LabelService;
+import hexlet.code.utils.Tagged;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,7 +34,10 @@ public class LabelController {
     private final LabelService labelService;
 
     @GetMapping(path = "")
-    public ResponseEntity<List<LabelDTO>> index() {
+    public ResponseEntity<List<LabelDTO>> index(WebRequest request) {
+        if (labelService.getLabelsState().isNotModified(request)) {
+            return null;
+        }
         List<LabelDTO> labels = labelService.getAllLabels();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(labels.size()))
@@ -37,7 +45,10 @@ public class LabelController {
     }
 
     @GetMapping(path = "/{id}")
-    public LabelDTO getLabelDTOById(@PathVariable Long id) {
+    public LabelDTO getLabelDTOById(@PathVariable Long id, WebRequest request) {
+        if (labelService.getLabelState(id).isNotModified(request)) {
+            return null;
+        }
         return labelService.getLabelDTOById(id);
     }
 
@@ -49,8 +60,25 @@ public class LabelController {
     }
 
     @PutMapping(path = "/{id}")
-    public LabelDTO updateLabel(@Valid @RequestBody LabelUpdateDTO labelUpdateDTO, @PathVariable Long id) {
-        return labelService.updateLabel(labelUpdateDTO, id);
+    public ResponseEntity<LabelDTO> updateLabel(@Valid @RequestBody LabelUpdateDTO labelUpdateDTO,
+                                                @PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                String ifMatch) {
+        Tagged<LabelDTO> label = labelService.updateLabel(labelUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(label.etag())
+                .body(label.body());
+    }
+
+    @PatchMapping(path = "/{id}")
+    public ResponseEntity<LabelDTO> patchLabel(@Valid @RequestBody LabelUpdateDTO labelUpdateDTO,
+                                               @PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) {
+        Tagged<LabelDTO> label = labelService.patchLabel(labelUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(label.etag())
+                .body(label.body());
     }
 
     @DeleteMapping(path = "/{id}")
@@ -1,25 +1,45 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.TaskChangeFeed;
+import hexlet.code.dto.TaskBatchResultDTO;
+import hexlet.code.dto.TaskBulkPatchDTO;
+import hexlet.code.dto.TaskBulkResultDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageDTO;
 import hexlet.code.dto.TaskParamDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.service.TaskBatchService;
 import hexlet.code.service.TaskService;
+import hexlet.code.utils.ResourceState;
+import hexlet.code.utils.Tagged;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -28,17 +48,74 @@ import java.util.List;
 @Tag(name = "Task management")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Paged listings are validated from the page read. Full listings first try the aggregate probe when the client
+     * sent a validator, and otherwise take their validators from the rows read, which match what the probe
+     * computes.
+     */
     @GetMapping(path = "")
-    public ResponseEntity<List<TaskDTO>> index(TaskParamDTO taskParamDTO) {
-        List<TaskDTO> taskStatuses = taskService.getAllTasks(taskParamDTO);
+    public ResponseEntity<List<TaskDTO>> index(@Valid TaskParamDTO taskParamDTO, WebRequest request) {
+        boolean paged = taskParamDTO.getLimit() != null || taskParamDTO.getCursor() != null;
+        if (!paged && ResourceState.isConditional(request)
+                && taskService.getTasksState(taskParamDTO).isNotModified(request)) {
+            return null;
+        }
+        TaskPageDTO page = paged
+                ? taskService.getTasksPage(taskParamDTO)
+                : taskService.getAllTasks(taskParamDTO);
+        if (page.getState().isNotModified(request)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.getTotal()));
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getTasks());
+    }
+
+    @RequestMapping(path = "", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> count(@Valid TaskParamDTO taskParamDTO) {
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(taskService.countTasks(taskParamDTO)))
+                .build();
+    }
+
+    @GetMapping(path = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream(@Valid TaskParamDTO taskParamDTO) {
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.writeStartArray();
+            taskService.streamTasks(taskParamDTO, task -> {
+                try {
+                    generator.writeObject(task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.close();
+        };
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(taskStatuses.size()))
-                .body(taskStatuses);
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@Valid TaskParamDTO taskParamDTO) {
+        return taskChangeFeed.subscribe(taskParamDTO);
     }
 
     @GetMapping(path = "/{id}")
-    public TaskDTO getTaskById(@PathVariable Long id) {
+    public TaskDTO getTaskById(@PathVariable Long id, WebRequest request) {
+        if (taskService.getTaskState(id).isNotModified(request)) {
+            return null;
+        }
         return taskService.getTaskById(id);
     }
 
@@ -48,9 +125,36 @@ public class TaskController {
         return taskService.createTask(taskCreateDTO);
     }
 
+    @PostMapping(path = "/batch")
+    public List<TaskBatchResultDTO> createTasks(@RequestBody List<TaskCreateDTO> taskCreateDTOs) {
+        return taskBatchService.createTasks(taskCreateDTOs);
+    }
+
+    @PatchMapping(path = "/bulk")
+    public TaskBulkResultDTO patchTasks(@Valid @RequestBody TaskBulkPatchDTO taskBulkPatchDTO) {
+        return taskBatchService.patchTasks(taskBulkPatchDTO);
+    }
+
     @PutMapping(path = "/{id}")
-    public TaskDTO updateTaskStatus(@Valid @RequestBody TaskUpdateDTO taskUpdateDTO, @PathVariable Long id) {
-        return taskService.updateTask(taskUpdateDTO, id);
+    public ResponseEntity<TaskDTO> updateTaskStatus(@Valid @RequestBody TaskUpdateDTO taskUpdateDTO,
+                                                    @PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch) {
+        Tagged<TaskDTO> task = taskService.updateTask(taskUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(task.etag())
+                .body(task.body());
+    }
+
+    @PatchMapping(path = "/{id}")
+    public ResponseEntity<TaskDTO> patchTask(@Valid @RequestBody TaskUpdateDTO taskUpdateDTO,
+                                             @PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch) {
+        Tagged<TaskDTO> task = taskService.patchTask(taskUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(task.etag())
+                .body(task.body());
     }
 
     @DeleteMapping(path = "/{id}")
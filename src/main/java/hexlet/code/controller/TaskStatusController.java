@@ -4,9 +4,11 @@ import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
 import hexlet.code.service.TaskStatusService;
+import hexlet.code.utils.Tagged;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +17,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,7 +33,10 @@ public class TaskStatusController {
     private final TaskStatusService taskStatusService;
 
     @GetMapping(path = "")
-    public ResponseEntity<List<TaskStatusDTO>> showAllUsers() {
+    public ResponseEntity<List<TaskStatusDTO>> showAllUsers(WebRequest request) {
+        if (taskStatusService.getTaskStatusesState().isNotModified(request)) {
+            return null;
+        }
         List<TaskStatusDTO> taskStatuses = taskStatusService.getAllTaskStatuses();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(taskStatuses.size()))
@@ -37,7 +44,10 @@ public class TaskStatusController {
     }
 
     @GetMapping(path = "/{id}")
-    TaskStatusDTO getTaskStatusById(@PathVariable Long id) {
+    TaskStatusDTO getTaskStatusById(@PathVariable Long id, WebRequest request) {
+        if (taskStatusService.getTaskStatusState(id).isNotModified(request)) {
+            return null;
+        }
         return taskStatusService.getTaskStatusDTOById(id);
     }
 
@@ -48,9 +58,14 @@ public class TaskStatusController {
     }
 
     @PutMapping(path = "/{id}")
-    public TaskStatusDTO updateTaskStatus(@Valid @RequestBody TaskStatusUpdateDTO taskStatusUpdateDTO,
-                                          @PathVariable Long id) {
-        return taskStatusService.updateTaskStatus(taskStatusUpdateDTO, id);
+    public ResponseEntity<TaskStatusDTO> updateTaskStatus(@Valid @RequestBody TaskStatusUpdateDTO taskStatusUpdateDTO,
+                                                          @PathVariable Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                          String ifMatch) {
+        Tagged<TaskStatusDTO> taskStatus = taskStatusService.updateTaskStatus(taskStatusUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(taskStatus.etag())
+                .body(taskStatus.body());
     }
 
     @DeleteMapping(path = "/{id}")
@@ -5,22 +5,27 @@ import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.service.UserService;
+import hexlet.code.utils.Tagged;
 import hexlet.code.utils.UserUtils;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,7 +38,10 @@ public class UsersController {
     private final UserUtils userUtils;
 
     @GetMapping(path = "")
-    public ResponseEntity<List<UserDTO>> showAllUsers() {
+    public ResponseEntity<List<UserDTO>> showAllUsers(WebRequest request) {
+        if (userService.getUsersState().isNotModified(request)) {
+            return null;
+        }
         List<UserDTO> users = userService.getAllUsers();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(users.size()))
@@ -41,7 +49,10 @@ public class UsersController {
     }
 
     @GetMapping(path = "/{id}")
-    public UserDTO getUserById(@PathVariable long id) {
+    public UserDTO getUserById(@PathVariable long id, WebRequest request) {
+        if (userService.getUserState(id).isNotModified(request)) {
+            return null;
+        }
         return userService.getUserDTOById(id);
     }
 
@@ -53,8 +64,24 @@ public class UsersController {
 
     @PutMapping(path = "/{id}")
     @PreAuthorize("@userUtils.isUserTheSameFromAuthentication(#id)")
-    public UserDTO updateUser(@Valid @RequestBody UserUpdateDTO userUpdateDTO, @PathVariable long id) {
-        return userService.updateUser(userUpdateDTO, id);
+    public ResponseEntity<UserDTO> updateUser(@Valid @RequestBody UserUpdateDTO userUpdateDTO, @PathVariable long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch) {
+        Tagged<UserDTO> user = userService.updateUser(userUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(user.etag())
+                .body(user.body());
+    }
+
+    @PatchMapping(path = "/{id}")
+    @PreAuthorize("@userUtils.isUserTheSameFromAuthentication(#id)")
+    public ResponseEntity<UserDTO> patchUser(@Valid @RequestBody UserUpdateDTO userUpdateDTO, @PathVariable long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch) {
+        Tagged<UserDTO> user = userService.patchUser(userUpdateDTO, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(user.etag())
+                .body(user.body());
     }
 
     @DeleteMapping(path = "/{id}")
@@ -0,0 +1,16 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BoardColumnDTO {
+    private TaskStatusDTO status;
+    private long total;
+    private List<TaskDTO> tasks;
+}
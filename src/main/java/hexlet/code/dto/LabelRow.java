@@ -0,0 +1,6 @@
+package hexlet.code.dto;
+
+import java.time.Instant;
+
+public record LabelRow(Long id, String name, Instant createdAt) {
+}
@@ -0,0 +1,23 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskBatchResultDTO {
+    private int index;
+    private boolean success;
+    private TaskDTO task;
+    private String error;
+
+    public static TaskBatchResultDTO created(int index, TaskDTO task) {
+        return new TaskBatchResultDTO(index, true, task, null);
+    }
+
+    public static TaskBatchResultDTO failed(int index, String error) {
+        return new TaskBatchResultDTO(index, false, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import lombok.Getter;
+import lombok.Setter;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.Set;
+
+@Getter
+@Setter
+public class TaskBulkPatchDTO {
+    private Set<Long> ids;
+    @Valid
+    private TaskParamDTO filter;
+    private String status;
+    @JsonProperty("assignee_id")
+    private JsonNullable<Long> assigneeId = JsonNullable.undefined();
+    private Set<Long> addLabelIds;
+    private Set<Long> removeLabelIds;
+}
@@ -3,6 +3,7 @@ package hexlet.code.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,8 +13,10 @@ import java.util.Set;
 @Setter
 public class TaskCreateDTO {
     @NotBlank(message = "Task title(name) must not be empty")
+    @Size(max = 255, message = "Task title(name) must not be longer than 255 characters")
     private String title;
     private int index;
+    @Size(max = 255, message = "Task content must not be longer than 255 characters")
     private String content;
     @NotNull(message = "TaskStatus of task must not be null")
     private String status;
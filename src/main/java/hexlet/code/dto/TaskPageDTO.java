@@ -0,0 +1,18 @@
+package hexlet.code.dto;
+
+import hexlet.code.utils.ResourceState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskPageDTO {
+    private List<TaskDTO> tasks;
+    private String nextCursor;
+    private long total;
+    private ResourceState state;
+}
@@ -1,13 +1,25 @@
 package hexlet.code.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class TaskParamDTO {
+    /**
+     * Case-insensitive substring of the title or the content of a task.
+     */
     private String titleCont;
     private Long assigneeId;
     private String status;
     private Long labelId;
+    private String cursor;
+    @Min(value = 1, message = "Limit must be between 1 and 1000")
+    @Max(value = 1000, message = "Limit must be between 1 and 1000")
+    private Integer limit;
+    @Pattern(regexp = "createdAt|index", message = "Sort must be either createdAt or index")
+    private String sort;
 }
@@ -0,0 +1,17 @@
+package hexlet.code.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+public record TaskRow(
+        Long id,
+        int index,
+        String name,
+        String description,
+        String status,
+        Long assigneeId,
+        Instant createdAt,
+        Long version,
+        Instant lastModified,
+        Set<Long> labelIds) {
+}
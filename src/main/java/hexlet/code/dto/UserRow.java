@@ -0,0 +1,12 @@
+package hexlet.code.dto;
+
+import java.time.Instant;
+
+public record UserRow(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        Instant createdAt,
+        Instant updatedAt) {
+}
@@ -0,0 +1,9 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.TaskDTO;
+
+/**
+ * Published by TaskService for every task write; before is null on create and after is null on delete.
+ */
+public record TaskChangedEvent(TaskDTO before, TaskDTO after) {
+}
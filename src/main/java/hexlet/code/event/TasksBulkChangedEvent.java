@@ -0,0 +1,9 @@
+package hexlet.code.event;
+
+import java.util.List;
+
+/**
+ * Published after a set-based update touched the given tasks without loading them.
+ */
+public record TasksBulkChangedEvent(List<Long> taskIds) {
+}
@@ -0,0 +1,14 @@
+package hexlet.code.exception;
+
+import lombok.Getter;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+@Getter
+public class PasswordHashingRejectedException extends InternalAuthenticationServiceException {
+    private final boolean saturated;
+
+    public PasswordHashingRejectedException(String message, boolean saturated) {
+        super(message);
+        this.saturated = saturated;
+    }
+}
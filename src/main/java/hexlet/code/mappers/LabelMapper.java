@@ -2,6 +2,7 @@ package hexlet.code.mappers;
 
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.LabelRow;
 import hexlet.code.dto.LabelUpdateDTO;
 import hexlet.code.model.Label;
 import org.mapstruct.Mapper;
@@ -18,6 +19,7 @@ import org.mapstruct.ReportingPolicy;
 )
 public abstract class LabelMapper {
     public abstract LabelDTO map(Label label);
+    public abstract LabelDTO map(LabelRow labelRow);
     public abstract Label map(LabelCreateDTO labelCreateDTO);
     public abstract void update(LabelUpdateDTO labelUpdateDTO, @MappingTarget Label label);
 }
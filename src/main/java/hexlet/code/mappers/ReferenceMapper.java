@@ -1,11 +1,11 @@
 package hexlet.code.mappers;
 
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.TaskStatusCache;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.model.BaseEntity;
 import hexlet.code.model.Label;
 import hexlet.code.model.TaskStatus;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.TaskStatusRepository;
 import jakarta.persistence.EntityManager;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
@@ -27,9 +27,9 @@ public abstract class ReferenceMapper {
     @Autowired
     private EntityManager entityManager;
     @Autowired
-    private TaskStatusRepository taskStatusRepository;
+    private TaskStatusCache taskStatusCache;
     @Autowired
-    private LabelRepository labelRepository;
+    private LabelCache labelCache;
 
     public <T extends BaseEntity> T toEntity(Long id, @TargetType Class<T> entityClass) {
         if (id == null) {
@@ -48,7 +48,7 @@ public abstract class ReferenceMapper {
         if (status == null) {
             throw new Exception("It's forbidden to create or update a task without a status!");
         }
-        return taskStatusRepository.findBySlug(status)
+        return taskStatusCache.findBySlug(status)
                 .orElseThrow(() -> new ResourceNotFoundException("Task status with slug = " + status + " not found."));
     }
 
@@ -57,10 +57,7 @@ public abstract class ReferenceMapper {
         if (taskLabelIds == null) {
             return null;
         }
-        Set<Label> labelSet = labelRepository.findByIdIn(taskLabelIds);
-        Set<Long> labeldIds = labelSet.stream()
-                .map(Label::getId)
-                .collect(Collectors.toSet());
+        Set<Long> labeldIds = labelCache.findExistingIds(taskLabelIds);
         List<Long> noPresentInDatabase = new ArrayList<>();
         taskLabelIds.forEach(l -> {
             if (!labeldIds.contains(l)) {
@@ -72,7 +69,9 @@ public abstract class ReferenceMapper {
             throw new ResourceNotFoundException(String.format("Label(s) with Id(s) = %s"
                     + " not found. Task not created!", noPresentInDatabase));
         }
-        return labelSet;
+        return taskLabelIds.stream()
+                .map(id -> entityManager.getReference(Label.class, id))
+                .collect(Collectors.toSet());
     }
 
 
@@ -2,6 +2,7 @@ package hexlet.code.mappers;
 
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.UserRow;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.model.User;
 import org.mapstruct.BeforeMapping;
@@ -26,6 +27,7 @@ public abstract class UserMapper {
     @Mapping(target = "passwordDigest", source = "password")
     public abstract User map(UserCreateDTO userCreateDTO);
     public abstract UserDTO map(User user);
+    public abstract UserDTO map(UserRow userRow);
     public abstract void update(UserUpdateDTO userUpdateDTO, @MappingTarget User user);
 
     @BeforeMapping
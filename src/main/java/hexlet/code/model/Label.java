@@ -7,13 +7,17 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
@@ -27,7 +31,8 @@ import java.util.Set;
 @NoArgsConstructor
 public class Label {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "label_seq")
+    @SequenceGenerator(name = "label_seq", sequenceName = "label_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -42,6 +47,13 @@ public class Label {
     @CreatedDate
     private Instant createdAt;
 
+    @LastModifiedDate
+    private Instant updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Label(String name) {
         this.name = name;
     }
@@ -0,0 +1,54 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One pending webhook delivery: a task change for one endpoint, written in the transaction of the change.
+ * A row with no next attempt has run out of retries and stays for inspection.
+ */
+@Entity
+@Table(name = "outbox_event",
+        indexes = @Index(name = "idx_outbox_event_endpoint_id", columnList = "endpoint, id"))
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false, length = 2048)
+    private String endpoint;
+
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    private Long taskId;
+
+    @Column(nullable = false, length = 65536)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
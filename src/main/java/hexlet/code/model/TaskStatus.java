@@ -7,14 +7,18 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
@@ -30,7 +34,8 @@ import java.util.Set;
 @NoArgsConstructor
 public class TaskStatus {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_status_seq")
+    @SequenceGenerator(name = "task_status_seq", sequenceName = "task_status_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -46,6 +51,13 @@ public class TaskStatus {
     @CreatedDate
     private Instant createdAt;
 
+    @LastModifiedDate
+    private Instant updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @OneToMany(mappedBy = "taskStatus")
     private Set<Task> tasks;
 
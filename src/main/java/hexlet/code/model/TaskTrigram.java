@@ -0,0 +1,30 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "task_trigram", indexes = @Index(name = "idx_task_trigram_task_id", columnList = "taskId"))
+@IdClass(TaskTrigramId.class)
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTrigram {
+    @Id
+    @Column(length = 12)
+    private String trigram;
+
+    @Id
+    private Long taskId;
+}
@@ -0,0 +1,74 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Denormalized list row of a task: status slug, assignee and labels are copied in so task listings filter
+ * and sort on this table alone, labels in {@link TaskViewLabel}. Version and last modification of the task are
+ * copied as well, so listings get the same validators from either table.
+ */
+@Entity
+@Table(name = "task_view", indexes = {
+        @Index(name = "idx_task_view_status_id", columnList = "status, id"),
+        @Index(name = "idx_task_view_assignee_id", columnList = "assigneeId, id"),
+        @Index(name = "idx_task_view_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_task_view_index_id", columnList = "index, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TaskView implements Persistable<Long> {
+    @Id
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    private int index;
+
+    private String name;
+
+    private String description;
+
+    private String status;
+
+    private Long assigneeId;
+
+    private String assigneeName;
+
+    private Instant createdAt;
+
+    private Long version;
+
+    private Instant lastModified;
+
+    @Transient
+    private boolean newView = true;
+
+    public TaskView(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newView;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newView = false;
+    }
+}
@@ -0,0 +1,32 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Label of a task_view row. The primary key leads with the label, so filtering the view by label is an index
+ * range scan; the task index serves reading and replacing the labels of given rows.
+ */
+@Entity
+@Table(name = "task_view_label", indexes = @Index(name = "idx_task_view_label_task_id", columnList = "taskId"))
+@IdClass(TaskViewLabelId.class)
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskViewLabel {
+    @Id
+    private Long labelId;
+
+    @Id
+    private Long taskId;
+}
@@ -0,0 +1,19 @@
+package hexlet.code.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskViewLabelId implements Serializable {
+    private Long labelId;
+    private Long taskId;
+}
@@ -0,0 +1,74 @@
+package hexlet.code.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes only the given attributes of one row with a single JPQL update instead of loading and flushing the
+ * entity. Modification time and version are bumped the same way a flush would do it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ColumnUpdateRepository {
+    private final EntityManager entityManager;
+
+    /**
+     * Takes the row lock an update would take, for the rest of the surrounding transaction, so that what the caller
+     * reads next is the row its update applies to and no concurrent write can slip in between.
+     *
+     * @return the current version, or {@code null} when the row is gone
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long lock(Class<?> entityClass, Long id) {
+        return entityManager.createQuery("SELECT e.version FROM " + entityClass.getSimpleName()
+                        + " AS e WHERE e.id = :id", Long.class)
+                .setParameter("id", id)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Attribute names come from the calling service, never from the request. With an {@code expectedVersion}
+     * the update only applies to that version of the row.
+     *
+     * @return the version written, or {@code null} when the row is gone or has moved past {@code expectedVersion}
+     */
+    @Transactional
+    public Long update(Class<?> entityClass, Long id, Long expectedVersion, Map<String, Object> attributes) {
+        String assignments = attributes.keySet().stream()
+                .map(attribute -> "e." + attribute + " = :" + attribute + ", ")
+                .collect(Collectors.joining());
+        String update = "UPDATE " + entityClass.getSimpleName() + " AS e SET " + assignments
+                + "e.updatedAt = :updatedAt, e.version = e.version + 1 WHERE e.id = :id"
+                + (expectedVersion == null ? "" : " AND e.version = :version");
+        Query query = entityManager.createQuery(update)
+                .setParameter("id", id)
+                .setParameter("updatedAt", Instant.now());
+        attributes.forEach(query::setParameter);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        if (query.executeUpdate() == 0) {
+            return null;
+        }
+        if (expectedVersion != null) {
+            return expectedVersion + 1;
+        }
+        // the updated row stays locked until commit, so this reads the version just written
+        return entityManager.createQuery("SELECT e.version FROM " + entityClass.getSimpleName()
+                        + " AS e WHERE e.id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+}
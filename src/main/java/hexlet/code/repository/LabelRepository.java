@@ -1,7 +1,11 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.LabelRow;
 import hexlet.code.model.Label;
+import hexlet.code.utils.ResourceState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +16,17 @@ public interface LabelRepository extends JpaRepository<Label, Long> {
     Optional<Label> findByName(String name);
     Label findTopByOrderByIdDesc();
     Set<Label> findByIdIn(Set<Long> labelIds);
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(l), SUM(l.version),"
+            + " MAX(COALESCE(l.updatedAt, l.createdAt)))"
+            + " FROM Label AS l")
+    ResourceState findState();
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(l), MAX(COALESCE(l.updatedAt, l.createdAt)),"
+            + " MAX(l.version))"
+            + " FROM Label AS l WHERE l.id = :id")
+    ResourceState findStateById(@Param("id") Long id);
+
+    @Query("SELECT new hexlet.code.dto.LabelRow(l.id, l.name, l.createdAt) FROM Label AS l WHERE l.id = :id")
+    Optional<LabelRow> findRowById(@Param("id") Long id);
 }
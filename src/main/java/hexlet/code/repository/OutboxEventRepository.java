@@ -0,0 +1,22 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query("SELECT e FROM OutboxEvent AS e WHERE e.endpoint = :endpoint AND e.nextAttemptAt IS NOT NULL ORDER BY e.id")
+    List<OutboxEvent> findPending(@Param("endpoint") String endpoint, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent AS e WHERE e.endpoint NOT IN :endpoints")
+    int deleteByEndpointNotIn(@Param("endpoints") Collection<String> endpoints);
+}
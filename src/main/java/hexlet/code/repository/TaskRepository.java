@@ -1,16 +1,36 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Task;
+import hexlet.code.utils.ResourceState;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
     Task findTopByOrderByIdDesc();
 
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    List<Task> findAll(Specification<Task> specification);
+
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    Optional<Task> findById(Long id);
+
     @Query("SELECT t FROM Task AS t LEFT JOIN FETCH t.labels WHERE t.id=:id")
     Task findTaskWithLabels(@Param("id") Long id);
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(t), MAX(COALESCE(t.updatedAt, t.createdAt)),"
+            + " MAX(COALESCE(s.updatedAt, s.createdAt)), MAX(t.version), MAX(s.version))"
+            + " FROM Task AS t LEFT JOIN t.taskStatus AS s WHERE t.id = :id")
+    ResourceState findStateById(@Param("id") Long id);
 }
@@ -0,0 +1,44 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskRow;
+import hexlet.code.model.Task;
+import hexlet.code.utils.ResourceState;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface TaskRepositoryCustom {
+    List<TaskRow> findRows(Specification<Task> specification, Sort sort);
+
+    List<TaskRow> findRows(Specification<Task> specification, Sort sort, int limit);
+
+    List<Long> findIds(Specification<Task> specification);
+
+    /**
+     * Count, version sum and latest change of the matching tasks, also covering task statuses because tasks embed
+     * their slug.
+     */
+    ResourceState findState(Specification<Task> specification);
+
+    List<Long> findTopIdsPerStatus(Specification<Task> specification, int limit);
+
+    Map<Long, Long> countPerStatus(Specification<Task> specification);
+
+    int updateReferences(List<Long> taskIds, Long taskStatusId, boolean updateAssignee, Long assigneeId);
+
+    int addLabels(List<Long> taskIds, Collection<Long> labelIds);
+
+    int removeLabels(List<Long> taskIds, Collection<Long> labelIds);
+
+    /**
+     * Rewrites the join rows of one task without loading its label collection.
+     */
+    void replaceLabels(Long taskId, Set<Long> labelIds);
+
+    void streamAll(Specification<Task> specification, int fetchSize, Consumer<List<Task>> chunkConsumer);
+}
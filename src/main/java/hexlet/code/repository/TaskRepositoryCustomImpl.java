@@ -0,0 +1,357 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskRow;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.utils.ResourceState;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaDerivedRoot;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.hibernate.query.criteria.JpaWindow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final int LABEL_CHUNK_SIZE = 1000;
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+    private static final String INSERT_LABELS = "INSERT INTO task_labels (tasks_id, labels_id)"
+            + " SELECT t.id, l.id FROM task t CROSS JOIN label l"
+            + " WHERE t.id IN (:taskIds) AND l.id IN (:labelIds)"
+            + " AND NOT EXISTS (SELECT 1 FROM task_labels tl WHERE tl.tasks_id = t.id AND tl.labels_id = l.id)";
+    private static final String DELETE_LABELS = "DELETE FROM task_labels"
+            + " WHERE tasks_id IN (:taskIds) AND labels_id IN (:labelIds)";
+    private static final String DELETE_ALL_LABELS = "DELETE FROM task_labels WHERE tasks_id = :taskId";
+    private static final String DELETE_OTHER_LABELS = DELETE_ALL_LABELS + " AND labels_id NOT IN (:labelIds)";
+
+    private static final String TOUCH = "UPDATE Task AS t SET t.updatedAt = :updatedAt, t.version = t.version + 1"
+            + " WHERE t.id IN :taskIds";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskRow> findRows(Specification<Task> specification, Sort sort) {
+        return findRows(specification, sort, 0);
+    }
+
+    @Override
+    public List<TaskRow> findRows(Specification<Task> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Join<Task, TaskStatus> taskStatus = root.join("taskStatus");
+        query.multiselect(
+                root.get("id"),
+                root.get("index"),
+                root.get("name"),
+                root.get("description"),
+                taskStatus.get("slug"),
+                root.get("assignee").get("id"),
+                root.get("createdAt"),
+                root.get("version"),
+                lastModified(criteriaBuilder, root));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> tuples = typedQuery.getResultList();
+        Map<Long, Set<Long>> labelIds = limit > 0
+                ? findLabelIds(tuples.stream()
+                        .map(tuple -> tuple.get(0, Long.class))
+                        .toList())
+                : findLabelIds(specification);
+        return tuples.stream()
+                .map(tuple -> new TaskRow(
+                        tuple.get(0, Long.class),
+                        tuple.get(1, Integer.class),
+                        tuple.get(2, String.class),
+                        tuple.get(3, String.class),
+                        tuple.get(4, String.class),
+                        tuple.get(5, Long.class),
+                        tuple.get(6, Instant.class),
+                        tuple.get(7, Long.class),
+                        tuple.get(8, Instant.class),
+                        labelIds.getOrDefault(tuple.get(0, Long.class), new HashSet<>())))
+                .toList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Task> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(root.get("id"));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public ResourceState findState(Specification<Task> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResourceState> query = criteriaBuilder.createQuery(ResourceState.class);
+        Root<Task> root = query.from(Task.class);
+        Subquery<Instant> statuses = query.subquery(Instant.class);
+        Root<TaskStatus> taskStatus = statuses.from(TaskStatus.class);
+        statuses.select(criteriaBuilder.greatest(lastModified(criteriaBuilder, taskStatus)));
+        Subquery<Long> statusChanges = query.subquery(Long.class);
+        Root<TaskStatus> changedStatus = statusChanges.from(TaskStatus.class);
+        statusChanges.select(criteriaBuilder.sum(changedStatus.<Long>get("version")));
+        query.select(criteriaBuilder.construct(ResourceState.class,
+                criteriaBuilder.count(root),
+                criteriaBuilder.sum(root.<Long>get("version")),
+                criteriaBuilder.greatest(lastModified(criteriaBuilder, root)),
+                statusChanges,
+                statuses));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Expression<Instant> lastModified(CriteriaBuilder criteriaBuilder, Root<?> root) {
+        return criteriaBuilder.coalesce(root.<Instant>get("updatedAt"), root.<Instant>get("createdAt"));
+    }
+
+    @Override
+    public List<Long> findTopIdsPerStatus(Specification<Task> specification, int limit) {
+        HibernateCriteriaBuilder criteriaBuilder = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        JpaCriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        JpaSubQuery<Tuple> ranked = query.subquery(Tuple.class);
+        JpaRoot<Task> task = ranked.from(Task.class);
+        JpaWindow window = criteriaBuilder.createWindow()
+                .partitionBy(task.get("taskStatus").get("id"))
+                .orderBy(criteriaBuilder.asc(task.get("index")), criteriaBuilder.asc(task.get("id")));
+        ranked.multiselect(task.get("id").alias("id"), criteriaBuilder.rowNumber(window).alias("position"));
+        Predicate predicate = specification.toPredicate(task, query, criteriaBuilder);
+        if (predicate != null) {
+            ranked.where(predicate);
+        }
+        JpaDerivedRoot<Tuple> root = query.from(ranked);
+        query.select(root.get("id"))
+                .where(criteriaBuilder.le(root.<Long>get("position"), limit));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Map<Long, Long> countPerStatus(Specification<Task> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(root.get("taskStatus").get("id"), criteriaBuilder.count(root));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("taskStatus").get("id"));
+        Map<Long, Long> counts = new HashMap<>();
+        entityManager.createQuery(query).getResultList()
+                .forEach(tuple -> counts.put(tuple.get(0, Long.class), tuple.get(1, Long.class)));
+        return counts;
+    }
+
+    @Override
+    public int updateReferences(List<Long> taskIds, Long taskStatusId, boolean updateAssignee, Long assigneeId) {
+        List<String> assignments = new ArrayList<>();
+        if (taskStatusId != null) {
+            assignments.add("t.taskStatus = :taskStatus");
+        }
+        if (updateAssignee) {
+            assignments.add("t.assignee = :assignee");
+        }
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+        assignments.add("t.updatedAt = :updatedAt");
+        assignments.add("t.version = t.version + 1");
+        Instant updatedAt = Instant.now();
+        String update = "UPDATE Task AS t SET " + String.join(", ", assignments) + " WHERE t.id IN :taskIds";
+        return executeInChunks(taskIds, chunk -> {
+            Query query = entityManager.createQuery(update)
+                    .setParameter("taskIds", chunk)
+                    .setParameter("updatedAt", updatedAt);
+            if (taskStatusId != null) {
+                query.setParameter("taskStatus", entityManager.getReference(TaskStatus.class, taskStatusId));
+            }
+            if (updateAssignee) {
+                query.setParameter("assignee", assigneeId == null
+                        ? null
+                        : entityManager.getReference(User.class, assigneeId));
+            }
+            return query;
+        });
+    }
+
+    @Override
+    public int addLabels(List<Long> taskIds, Collection<Long> labelIds) {
+        int changed = executeInChunks(taskIds, chunk -> entityManager.createNativeQuery(INSERT_LABELS)
+                .setParameter("taskIds", chunk)
+                .setParameter("labelIds", labelIds));
+        touch(taskIds, changed);
+        return changed;
+    }
+
+    @Override
+    public int removeLabels(List<Long> taskIds, Collection<Long> labelIds) {
+        int changed = executeInChunks(taskIds, chunk -> entityManager.createNativeQuery(DELETE_LABELS)
+                .setParameter("taskIds", chunk)
+                .setParameter("labelIds", labelIds));
+        touch(taskIds, changed);
+        return changed;
+    }
+
+    @Override
+    public void replaceLabels(Long taskId, Set<Long> labelIds) {
+        if (labelIds.isEmpty()) {
+            entityManager.createNativeQuery(DELETE_ALL_LABELS)
+                    .setParameter("taskId", taskId)
+                    .executeUpdate();
+            return;
+        }
+        entityManager.createNativeQuery(DELETE_OTHER_LABELS)
+                .setParameter("taskId", taskId)
+                .setParameter("labelIds", labelIds)
+                .executeUpdate();
+        entityManager.createNativeQuery(INSERT_LABELS)
+                .setParameter("taskIds", List.of(taskId))
+                .setParameter("labelIds", labelIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Label rows live in the join table, so the tasks are stamped and versioned to keep their validators honest.
+     */
+    private void touch(List<Long> taskIds, int changed) {
+        if (changed == 0) {
+            return;
+        }
+        Instant updatedAt = Instant.now();
+        executeInChunks(taskIds, chunk -> entityManager.createQuery(TOUCH)
+                .setParameter("taskIds", chunk)
+                .setParameter("updatedAt", updatedAt));
+    }
+
+    @Override
+    public void streamAll(Specification<Task> specification, int fetchSize, Consumer<List<Task>> chunkConsumer) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = criteriaBuilder.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        root.fetch("taskStatus");
+        root.fetch("assignee", JoinType.LEFT);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        try (Stream<Task> tasks = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            List<Task> chunk = new ArrayList<>(fetchSize);
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == fetchSize || !iterator.hasNext()) {
+                    chunkConsumer.accept(chunk);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private Map<Long, Set<Long>> findLabelIds(Specification<Task> specification) {
+        Map<Long, Set<Long>> labelIds = new HashMap<>();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Join<Task, Label> label = root.join("labels");
+        Subquery<Long> taskIds = query.subquery(Long.class);
+        Root<Task> task = taskIds.from(Task.class);
+        taskIds.select(task.get("id"));
+        Predicate predicate = specification.toPredicate(task, query, criteriaBuilder);
+        if (predicate != null) {
+            taskIds.where(predicate);
+        }
+        query.multiselect(root.get("id"), label.get("id"))
+                .where(root.get("id").in(taskIds));
+        entityManager.createQuery(query).getResultList()
+                .forEach(tuple -> labelIds
+                        .computeIfAbsent(tuple.get(0, Long.class), id -> new HashSet<>())
+                        .add(tuple.get(1, Long.class)));
+        return labelIds;
+    }
+
+    private Map<Long, Set<Long>> findLabelIds(List<Long> taskIds) {
+        Map<Long, Set<Long>> labelIds = new HashMap<>();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        for (int from = 0; from < taskIds.size(); from += LABEL_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + LABEL_CHUNK_SIZE, taskIds.size()));
+            CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+            Root<Task> root = query.from(Task.class);
+            Join<Task, Label> label = root.join("labels");
+            query.multiselect(root.get("id"), label.get("id"))
+                    .where(root.get("id").in(chunk));
+            entityManager.createQuery(query).getResultList()
+                    .forEach(tuple -> labelIds
+                            .computeIfAbsent(tuple.get(0, Long.class), id -> new HashSet<>())
+                            .add(tuple.get(1, Long.class)));
+        }
+        return labelIds;
+    }
+
+    private int executeInChunks(List<Long> taskIds, Function<List<Long>, Query> queryFactory) {
+        entityManager.flush();
+        int affected = 0;
+        for (int from = 0; from < taskIds.size(); from += UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, taskIds.size()));
+            affected += queryFactory.apply(chunk).executeUpdate();
+        }
+        entityManager.clear();
+        return affected;
+    }
+}
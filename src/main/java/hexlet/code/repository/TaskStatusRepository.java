@@ -1,7 +1,10 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.TaskStatus;
+import hexlet.code.utils.ResourceState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +12,14 @@ import java.util.Optional;
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
     Optional<TaskStatus> findBySlug(String slug);
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(s), SUM(s.version),"
+            + " MAX(COALESCE(s.updatedAt, s.createdAt)))"
+            + " FROM TaskStatus AS s")
+    ResourceState findState();
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(s), MAX(COALESCE(s.updatedAt, s.createdAt)),"
+            + " MAX(s.version))"
+            + " FROM TaskStatus AS s WHERE s.id = :id")
+    ResourceState findStateById(@Param("id") Long id);
 }
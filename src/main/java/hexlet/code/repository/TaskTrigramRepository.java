@@ -0,0 +1,20 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskTrigram;
+import hexlet.code.model.TaskTrigramId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskTrigramRepository extends JpaRepository<TaskTrigram, TaskTrigramId> {
+    @Modifying
+    @Query("DELETE FROM TaskTrigram AS t WHERE t.taskId = :taskId")
+    void deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskTrigram")
+    void deleteAllTrigrams();
+}
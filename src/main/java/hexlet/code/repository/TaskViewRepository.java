@@ -0,0 +1,35 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Repository
+public interface TaskViewRepository extends JpaRepository<TaskView, Long>, JpaSpecificationExecutor<TaskView>,
+        TaskViewRepositoryCustom {
+    @Modifying
+    @Query("UPDATE TaskView AS v SET v.status = :slug WHERE v.status = :oldSlug")
+    int renameStatus(@Param("oldSlug") String oldSlug, @Param("slug") String slug);
+
+    @Modifying
+    @Query("UPDATE TaskView AS v SET v.assigneeName = :name WHERE v.assigneeId = :assigneeId")
+    int renameAssignee(@Param("assigneeId") Long assigneeId, @Param("name") String name);
+
+    @Query("SELECT l.labelId FROM TaskViewLabel AS l WHERE l.taskId = :taskId")
+    Set<Long> findLabelIds(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskViewLabel AS l WHERE l.taskId IN :taskIds")
+    void deleteLabels(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM TaskViewLabel")
+    void deleteAllLabels();
+}
@@ -0,0 +1,22 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskRow;
+import hexlet.code.model.TaskView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskViewRepositoryCustom {
+    /**
+     * Reads matching rows as projections, so listings never load managed view entities.
+     *
+     * @param limit maximum number of rows, or 0 for all of them
+     */
+    List<TaskRow> findRows(Specification<TaskView> specification, Sort sort, int limit);
+
+    /**
+     * Inserts the labels of the rows in JDBC batches; labels previously stored for them must be deleted first.
+     */
+    void insertLabels(List<TaskRow> rows);
+}
@@ -0,0 +1,98 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskRow;
+import hexlet.code.model.TaskView;
+import hexlet.code.model.TaskViewLabel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class TaskViewRepositoryCustomImpl implements TaskViewRepositoryCustom {
+    private static final int LABEL_CHUNK_SIZE = 1000;
+    private static final String INSERT_LABEL = "INSERT INTO task_view_label (label_id, task_id) VALUES (?, ?)";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<TaskRow> findRows(Specification<TaskView> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<TaskView> root = query.from(TaskView.class);
+        query.multiselect(
+                root.get("id"),
+                root.get("index"),
+                root.get("name"),
+                root.get("description"),
+                root.get("status"),
+                root.get("assigneeId"),
+                root.get("createdAt"),
+                root.get("version"),
+                root.get("lastModified"));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        Map<Long, Set<Long>> labelIds = findLabelIds(rows.stream().map(tuple -> tuple.get(0, Long.class)).toList());
+        return rows.stream()
+                .map(tuple -> new TaskRow(
+                        tuple.get(0, Long.class),
+                        tuple.get(1, Integer.class),
+                        tuple.get(2, String.class),
+                        tuple.get(3, String.class),
+                        tuple.get(4, String.class),
+                        tuple.get(5, Long.class),
+                        tuple.get(6, Instant.class),
+                        tuple.get(7, Long.class),
+                        tuple.get(8, Instant.class),
+                        labelIds.getOrDefault(tuple.get(0, Long.class), new HashSet<>())))
+                .toList();
+    }
+
+    @Override
+    public void insertLabels(List<TaskRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_LABEL, rows.stream()
+                .flatMap(row -> row.labelIds().stream().map(labelId -> new Object[] {labelId, row.id()}))
+                .toList());
+    }
+
+    private Map<Long, Set<Long>> findLabelIds(List<Long> taskIds) {
+        Map<Long, Set<Long>> labelIds = new HashMap<>();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        for (int from = 0; from < taskIds.size(); from += LABEL_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + LABEL_CHUNK_SIZE, taskIds.size()));
+            CriteriaQuery<TaskViewLabel> query = criteriaBuilder.createQuery(TaskViewLabel.class);
+            Root<TaskViewLabel> root = query.from(TaskViewLabel.class);
+            query.where(root.get("taskId").in(chunk));
+            entityManager.createQuery(query).getResultList()
+                    .forEach(label -> labelIds
+                            .computeIfAbsent(label.getTaskId(), id -> new HashSet<>())
+                            .add(label.getLabelId()));
+        }
+        return labelIds;
+    }
+}
@@ -1,13 +1,34 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.UserRow;
 import hexlet.code.model.User;
+import hexlet.code.utils.ResourceState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     User findTopByOrderByIdDesc();
+    @Query("SELECT u.id FROM User AS u WHERE u.id IN :ids")
+    Set<Long> findIdsByIdIn(@Param("ids") Set<Long> ids);
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(u), SUM(u.version),"
+            + " MAX(COALESCE(u.updatedAt, u.createdAt)))"
+            + " FROM User AS u")
+    ResourceState findState();
+
+    @Query("SELECT new hexlet.code.utils.ResourceState(COUNT(u), MAX(COALESCE(u.updatedAt, u.createdAt)),"
+            + " MAX(u.version))"
+            + " FROM User AS u WHERE u.id = :id")
+    ResourceState findStateById(@Param("id") Long id);
+
+    @Query("SELECT new hexlet.code.dto.UserRow(u.id, u.firstName, u.lastName, u.email, u.createdAt, u.updatedAt)"
+            + " FROM User AS u WHERE u.id = :id")
+    Optional<UserRow> findRowById(@Param("id") Long id);
 }
@@ -0,0 +1,60 @@
+package hexlet.code.service;
+
+import hexlet.code.cache.TaskStatusCache;
+import hexlet.code.dto.BoardColumnDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.mappers.TaskMapper;
+import hexlet.code.mappers.TaskStatusMapper;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.specification.TaskSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BoardService {
+    public static final int DEFAULT_COLUMN_LIMIT = 20;
+
+    private final TaskRepository taskRepository;
+    private final TaskSpecification taskSpecification;
+    private final TaskStatusCache taskStatusCache;
+    private final TaskMapper taskMapper;
+    private final TaskStatusMapper taskStatusMapper;
+
+    @Transactional(readOnly = true)
+    public List<BoardColumnDTO> getBoard(TaskParamDTO taskParamDTO) {
+        int limit = taskParamDTO.getLimit() == null ? DEFAULT_COLUMN_LIMIT : taskParamDTO.getLimit();
+        Specification<Task> specification = taskSpecification.build(taskParamDTO);
+        List<Long> taskIds = taskRepository.findTopIdsPerStatus(specification, limit);
+        Map<Long, Long> totals = taskRepository.countPerStatus(specification);
+        Map<String, List<TaskDTO>> tasksByStatus = taskIds.isEmpty()
+                ? Map.of()
+                : taskRepository.findRows((root, query, criteriaBuilder) -> root.get("id").in(taskIds),
+                                Sort.by("index", "id")).stream()
+                        .map(taskMapper::map)
+                        .collect(Collectors.groupingBy(TaskDTO::getStatus));
+        List<TaskStatus> taskStatuses = taskStatusCache.findAll();
+        if (!taskStatuses.stream().map(TaskStatus::getId).collect(Collectors.toSet()).containsAll(totals.keySet())) {
+            taskStatusCache.evictAll();
+            taskStatuses = taskStatusCache.findAll();
+        }
+        return taskStatuses.stream()
+                .sorted(Comparator.comparing(TaskStatus::getId))
+                .map(taskStatus -> new BoardColumnDTO(
+                        taskStatusMapper.map(taskStatus),
+                        totals.getOrDefault(taskStatus.getId(), 0L),
+                        tasksByStatus.getOrDefault(taskStatus.getSlug(), List.of())))
+                .toList();
+    }
+}
@@ -1,54 +1,122 @@
 package hexlet.code.service;
 
+import hexlet.code.cache.LabelCache;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.LabelRow;
 import hexlet.code.dto.LabelUpdateDTO;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.mappers.JsonNullableMapper;
 import hexlet.code.mappers.LabelMapper;
 import hexlet.code.model.Label;
+import hexlet.code.repository.ColumnUpdateRepository;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.utils.AfterCommit;
+import hexlet.code.utils.EntityTags;
+import hexlet.code.utils.ResourceState;
+import hexlet.code.utils.Tagged;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class LabelService {
     private final LabelRepository labelRepository;
     private final LabelMapper labelMapper;
+    private final JsonNullableMapper jsonNullableMapper;
+    private final ColumnUpdateRepository columnUpdateRepository;
+    private final LabelCache labelCache;
 
     public List<LabelDTO> getAllLabels() {
-        List<Label> labels = labelRepository.findAll();
+        List<Label> labels = labelCache.findAll();
         return labels.stream()
                 .map(labelMapper::map)
                 .toList();
     }
 
+    public ResourceState getLabelsState() {
+        return labelRepository.findState();
+    }
+
+    public ResourceState getLabelState(Long id) {
+        return labelRepository.findStateById(id);
+    }
+
     public LabelDTO getLabelDTOById(Long id) {
         return labelMapper.map(getLabelById(id));
     }
 
     public Label getLabelById(Long id) {
-        return labelRepository.findById(id)
+        return labelCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label with ID = " + id + " not found."));
     }
 
     public LabelDTO createLabel(LabelCreateDTO labelCreateDTO) {
         Label label = labelMapper.map(labelCreateDTO);
         labelRepository.save(label);
+        labelCache.evict(label.getId(), label.getName());
         return labelMapper.map(label);
     }
 
-    public LabelDTO updateLabel(LabelUpdateDTO labelUpdateDTO, Long id) {
+    public Tagged<LabelDTO> updateLabel(LabelUpdateDTO labelUpdateDTO, Long id, String ifMatch) {
         Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label with ID = " + id + " not found."));
+        if (!EntityTags.matches(ifMatch, EntityTags.of(label.getVersion()))) {
+            throw new PreconditionFailedException("Label with ID = " + id + " has been modified.");
+        }
+        String oldName = label.getName();
         labelMapper.update(labelUpdateDTO, label);
-        labelRepository.save(label);
-        return labelMapper.map(label);
+        label = labelRepository.saveAndFlush(label);
+        labelCache.evict(id, oldName, label.getName());
+        return new Tagged<>(labelMapper.map(label), EntityTags.of(label.getVersion()));
+    }
+
+    /**
+     * Writes only the fields present in the request with a single update instead of saving the whole entity. The
+     * row is locked and read as a projection, so the response shows the row the update applied to.
+     */
+    @Transactional
+    public Tagged<LabelDTO> patchLabel(LabelUpdateDTO labelUpdateDTO, Long id, String ifMatch) {
+        String name = null;
+        if (jsonNullableMapper.isPresent(labelUpdateDTO.getName())) {
+            name = labelUpdateDTO.getName().get();
+            if (name == null || name.isBlank() || name.length() < 3 || name.length() > 1000) {
+                throw new BadRequestException("The name must contain at least 3 and no more than 1000 characters");
+            }
+        }
+        Long lockedVersion = columnUpdateRepository.lock(Label.class, id);
+        if (lockedVersion == null) {
+            throw new ResourceNotFoundException("Label with ID = " + id + " not found.");
+        }
+        if (ifMatch != null && !EntityTags.matches(ifMatch, labelRepository.findStateById(id).etag())) {
+            throw new PreconditionFailedException("Label with ID = " + id + " has been modified.");
+        }
+        LabelRow row = labelRepository.findRowById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Label with ID = " + id + " not found."));
+        LabelDTO labelDTO = labelMapper.map(row);
+        if (name == null) {
+            return new Tagged<>(labelDTO, EntityTags.of(lockedVersion));
+        }
+        Long version = columnUpdateRepository.update(Label.class, id, lockedVersion, Map.of("name", name));
+        if (version == null) {
+            throw new PreconditionFailedException("Label with ID = " + id + " has been modified.");
+        }
+        String newName = name;
+        AfterCommit.run(() -> labelCache.evict(id, row.name(), newName));
+        labelDTO.setName(name);
+        return new Tagged<>(labelDTO, EntityTags.of(version));
     }
 
     public void deleteLabel(Long id) {
-        labelRepository.deleteById(id);
+        labelRepository.findById(id).ifPresent(label -> {
+            labelRepository.delete(label);
+            labelCache.evict(id, label.getName());
+        });
     }
 }
@@ -0,0 +1,223 @@
+package hexlet.code.service;
+
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.TaskStatusCache;
+import hexlet.code.dto.TaskBatchResultDTO;
+import hexlet.code.dto.TaskBulkPatchDTO;
+import hexlet.code.dto.TaskBulkResultDTO;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.mappers.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+    private final UserRepository userRepository;
+    private final TaskStatusCache taskStatusCache;
+    private final LabelCache labelCache;
+    private final TaskMapper taskMapper;
+    private final TaskSpecification taskSpecification;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    /**
+     * Creates the valid tasks of the batch and reports every other one by its position. Everything a task could
+     * fail on in the database, from references to column lengths, is checked up front, so one bad item does not
+     * roll back the others.
+     */
+    @Transactional
+    public List<TaskBatchResultDTO> createTasks(List<TaskCreateDTO> taskCreateDTOs) {
+        if (taskCreateDTOs.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch must not contain more than " + MAX_BATCH_SIZE + " tasks.");
+        }
+        Map<String, Long> statusIds = resolveStatuses(taskCreateDTOs);
+        Set<Long> labelIds = labelCache.findExistingIds(taskCreateDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskCreateDTO::getTaskLabelIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Set<Long> requestedAssigneeIds = taskCreateDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskCreateDTO::getAssigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> assigneeIds = requestedAssigneeIds.isEmpty()
+                ? Set.of()
+                : userRepository.findIdsByIdIn(requestedAssigneeIds);
+
+        TaskBatchResultDTO[] results = new TaskBatchResultDTO[taskCreateDTOs.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < taskCreateDTOs.size(); i++) {
+            TaskCreateDTO taskCreateDTO = taskCreateDTOs.get(i);
+            Optional<String> error = validate(taskCreateDTO, statusIds, labelIds, assigneeIds);
+            if (error.isPresent()) {
+                results[i] = TaskBatchResultDTO.failed(i, error.get());
+                continue;
+            }
+            tasks.add(toTask(taskCreateDTO, statusIds));
+            positions.add(i);
+        }
+
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        taskSearchIndex.indexNew(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDTO taskDTO = taskMapper.map(tasks.get(i));
+            eventPublisher.publishEvent(new TaskChangedEvent(null, taskDTO));
+            results[positions.get(i)] = TaskBatchResultDTO.created(positions.get(i), taskDTO);
+        }
+        return List.of(results);
+    }
+
+    @Transactional
+    public TaskBulkResultDTO patchTasks(TaskBulkPatchDTO taskBulkPatchDTO) {
+        if (taskBulkPatchDTO.getIds() == null && taskBulkPatchDTO.getFilter() == null) {
+            throw new BadRequestException("Either ids or filter must be given.");
+        }
+        Long taskStatusId = taskBulkPatchDTO.getStatus() == null
+                ? null
+                : taskStatusCache.findBySlug(taskBulkPatchDTO.getStatus())
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Task status with slug = " + taskBulkPatchDTO.getStatus() + " not found."))
+                        .getId();
+        boolean updateAssignee = taskBulkPatchDTO.getAssigneeId() != null
+                && taskBulkPatchDTO.getAssigneeId().isPresent();
+        Long assigneeId = updateAssignee ? taskBulkPatchDTO.getAssigneeId().get() : null;
+        if (assigneeId != null && !userRepository.existsById(assigneeId)) {
+            throw new ResourceNotFoundException("User with " + assigneeId + " not found!");
+        }
+        Set<Long> addLabelIds = existingLabels(taskBulkPatchDTO.getAddLabelIds());
+        Set<Long> removeLabelIds = taskBulkPatchDTO.getRemoveLabelIds() == null
+                ? Set.of()
+                : taskBulkPatchDTO.getRemoveLabelIds();
+        if (taskStatusId == null && !updateAssignee && addLabelIds.isEmpty() && removeLabelIds.isEmpty()) {
+            throw new BadRequestException("Nothing to change.");
+        }
+
+        Specification<Task> specification = taskBulkPatchDTO.getFilter() == null
+                ? Specification.where(null)
+                : taskSpecification.build(taskBulkPatchDTO.getFilter());
+        if (taskBulkPatchDTO.getIds() != null) {
+            specification = specification.and((root, query, criteriaBuilder) -> taskBulkPatchDTO.getIds().isEmpty()
+                    ? criteriaBuilder.disjunction()
+                    : root.get("id").in(taskBulkPatchDTO.getIds()));
+        }
+        List<Long> taskIds = taskRepository.findIds(specification);
+        if (taskIds.isEmpty()) {
+            return new TaskBulkResultDTO(0);
+        }
+        taskRepository.updateReferences(taskIds, taskStatusId, updateAssignee, assigneeId);
+        if (!removeLabelIds.isEmpty()) {
+            taskRepository.removeLabels(taskIds, removeLabelIds);
+        }
+        if (!addLabelIds.isEmpty()) {
+            taskRepository.addLabels(taskIds, addLabelIds);
+        }
+        eventPublisher.publishEvent(new TasksBulkChangedEvent(taskIds));
+        return new TaskBulkResultDTO(taskIds.size());
+    }
+
+    private Set<Long> existingLabels(Set<Long> labelIds) {
+        if (labelIds == null || labelIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> missing = new HashSet<>(labelIds);
+        missing.removeAll(labelCache.findExistingIds(labelIds));
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(String.format("Label(s) with Id(s) = %s not found.", missing));
+        }
+        return labelIds;
+    }
+
+    private Map<String, Long> resolveStatuses(List<TaskCreateDTO> taskCreateDTOs) {
+        Map<String, Long> statusIds = new HashMap<>();
+        taskCreateDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskCreateDTO::getStatus)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(slug -> taskStatusCache.findBySlug(slug)
+                        .ifPresent(taskStatus -> statusIds.put(slug, taskStatus.getId())));
+        return statusIds;
+    }
+
+    private Optional<String> validate(TaskCreateDTO taskCreateDTO, Map<String, Long> statusIds,
+                                      Set<Long> labelIds, Set<Long> assigneeIds) {
+        if (taskCreateDTO == null) {
+            return Optional.of("Task must not be null");
+        }
+        Set<ConstraintViolation<TaskCreateDTO>> violations = validator.validate(taskCreateDTO);
+        if (!violations.isEmpty()) {
+            return Optional.of(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (!statusIds.containsKey(taskCreateDTO.getStatus())) {
+            return Optional.of("Task status with slug = " + taskCreateDTO.getStatus() + " not found.");
+        }
+        if (taskCreateDTO.getAssigneeId() != null && !assigneeIds.contains(taskCreateDTO.getAssigneeId())) {
+            return Optional.of("User with " + taskCreateDTO.getAssigneeId() + " not found!");
+        }
+        if (taskCreateDTO.getTaskLabelIds() != null && !labelIds.containsAll(taskCreateDTO.getTaskLabelIds())) {
+            Set<Long> missing = new HashSet<>(taskCreateDTO.getTaskLabelIds());
+            missing.removeAll(labelIds);
+            return Optional.of(String.format("Label(s) with Id(s) = %s not found.", missing));
+        }
+        return Optional.empty();
+    }
+
+    private Task toTask(TaskCreateDTO taskCreateDTO, Map<String, Long> statusIds) {
+        Task task = taskMapper.mapWithoutReferences(taskCreateDTO);
+        TaskStatus taskStatus = taskStatusRepository.getReferenceById(statusIds.get(taskCreateDTO.getStatus()));
+        task.setTaskStatus(taskStatus);
+        if (taskCreateDTO.getAssigneeId() != null) {
+            task.setAssignee(userRepository.getReferenceById(taskCreateDTO.getAssigneeId()));
+        }
+        if (taskCreateDTO.getTaskLabelIds() != null) {
+            Set<Label> labels = taskCreateDTO.getTaskLabelIds().stream()
+                    .map(labelRepository::getReferenceById)
+                    .collect(Collectors.toSet());
+            task.setLabels(labels);
+        }
+        return task;
+    }
+}
@@ -0,0 +1,116 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskTrigramRepository;
+import hexlet.code.utils.AfterCommit;
+import hexlet.code.utils.TrigramUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trigrams of task names and descriptions, kept in step by the task services in the transaction of the write.
+ * Writes that bypass the services are not seen, so {@link #repair} rebuilds the index on startup when tasks are
+ * missing from it or it still lists deleted ones. Until that check has committed, searches are not narrowed by
+ * the index, see {@link #isReady}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndex {
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final String INSERT_TRIGRAM = "INSERT INTO task_trigram (trigram, task_id) VALUES (?, ?)";
+    private static final String COUNT_MISSING = "SELECT COUNT(*) FROM task AS t"
+            + " WHERE (LENGTH(t.name) >= ? OR LENGTH(t.description) >= ?)"
+            + " AND NOT EXISTS (SELECT 1 FROM task_trigram AS g WHERE g.task_id = t.id)";
+    private static final String COUNT_ORPHANED = "SELECT COUNT(*) FROM task_trigram AS g"
+            + " WHERE NOT EXISTS (SELECT 1 FROM task AS t WHERE t.id = g.task_id)";
+
+    private final TaskTrigramRepository taskTrigramRepository;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean ready;
+
+    /**
+     * Whether the index can be trusted to hold every task; searches fall back to the plain LIKE otherwise.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Transactional
+    public void index(Task task) {
+        taskTrigramRepository.deleteByTaskId(task.getId());
+        insert(List.of(task));
+    }
+
+    @Transactional
+    public void index(Long taskId, String name, String description) {
+        taskTrigramRepository.deleteByTaskId(taskId);
+        jdbcTemplate.batchUpdate(INSERT_TRIGRAM, rows(taskId, name, description));
+    }
+
+    @Transactional
+    public void indexNew(List<Task> tasks) {
+        insert(tasks);
+    }
+
+    @Transactional
+    public void remove(Long taskId) {
+        taskTrigramRepository.deleteByTaskId(taskId);
+    }
+
+    @Transactional
+    public void rebuild() {
+        taskTrigramRepository.deleteAllTrigrams();
+        Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+        Page<Task> page;
+        do {
+            page = taskRepository.findAll(pageable);
+            insert(page.getContent());
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+        log.info("Task search index rebuilt for {} tasks", page.getTotalElements());
+    }
+
+    /**
+     * Rebuilds the index when tasks with searchable text have no trigrams or trigrams of deleted tasks are left.
+     * Text edited behind the services' back is not detected; {@link #rebuild} covers that.
+     */
+    @Transactional
+    public void repair() {
+        Long missing = jdbcTemplate.queryForObject(COUNT_MISSING, Long.class,
+                TrigramUtils.GRAM_LENGTH, TrigramUtils.GRAM_LENGTH);
+        Long orphaned = jdbcTemplate.queryForObject(COUNT_ORPHANED, Long.class);
+        if (missing != null && missing > 0 || orphaned != null && orphaned > 0) {
+            log.info("Task search index misses {} tasks and has trigrams of {} deleted ones", missing, orphaned);
+            rebuild();
+        }
+        AfterCommit.run(() -> ready = true);
+    }
+
+    private void insert(List<Task> tasks) {
+        List<Object[]> rows = new ArrayList<>();
+        tasks.forEach(task -> rows.addAll(rows(task.getId(), task.getName(), task.getDescription())));
+        jdbcTemplate.batchUpdate(INSERT_TRIGRAM, rows);
+    }
+
+    private static List<Object[]> rows(Long taskId, String name, String description) {
+        Set<String> trigrams = TrigramUtils.trigrams(name);
+        trigrams.addAll(TrigramUtils.trigrams(description));
+        return trigrams.stream()
+                .map(trigram -> new Object[] {trigram, taskId})
+                .toList();
+    }
+}
@@ -1,56 +1,281 @@
 package hexlet.code.service;
 
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.TaskCounter;
+import hexlet.code.cache.TaskStatusCache;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageDTO;
 import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.dto.TaskRow;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.mappers.JsonNullableMapper;
 import hexlet.code.mappers.TaskMapper;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.ColumnUpdateRepository;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskCursor;
 import hexlet.code.specification.TaskSpecification;
+import hexlet.code.utils.EntityTags;
+import hexlet.code.utils.ResourceState;
+import hexlet.code.utils.Tagged;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int STREAM_FETCH_SIZE = 500;
+
     private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final UserRepository userRepository;
+    private final ColumnUpdateRepository columnUpdateRepository;
+    private final TaskStatusCache taskStatusCache;
+    private final LabelCache labelCache;
     private final TaskMapper taskMapper;
+    private final JsonNullableMapper jsonNullableMapper;
     private final TaskSpecification taskSpecification;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCounter taskCounter;
+    private final TaskViewService taskViewService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<TaskDTO> getAllTasks(TaskParamDTO taskParamDTO) {
-        Specification<Task> specification = taskSpecification.build(taskParamDTO);
-        List<Task> tasks = taskRepository.findAll(specification);
+    /**
+     * Lists every matching task with the validators of the rows read, which are the ones {@link #getTasksState}
+     * computes for the same filter, so a conditional request can later be answered from the probe alone.
+     */
+    public TaskPageDTO getAllTasks(TaskParamDTO taskParamDTO) {
+        List<TaskRow> tasks = taskViewService.isServing()
+                ? taskViewService.findRows(taskSpecification.buildView(taskParamDTO), Sort.by("id"), 0)
+                : taskRepository.findRows(taskSpecification.build(taskParamDTO), Sort.by("id"));
+        ResourceState statuses = taskStatusRepository.findState();
+        long changes = 0;
+        Instant lastModified = null;
+        for (TaskRow task : tasks) {
+            changes += task.version();
+            lastModified = latest(lastModified, task.lastModified());
+        }
+        return new TaskPageDTO(map(tasks), null, tasks.size(), new ResourceState(tasks.size(), changes,
+                lastModified, statuses.changes(), statuses.lastModified()));
+    }
+
+    /**
+     * Reads one keyset page. Its validators are derived from the rows of the page, the cursor to the next one
+     * and the total rather than probed over the whole filter, so a page costs the same however many tasks match.
+     */
+    public TaskPageDTO getTasksPage(TaskParamDTO taskParamDTO) {
+        int limit = taskParamDTO.getLimit() == null ? DEFAULT_PAGE_SIZE : taskParamDTO.getLimit();
+        String sort = taskParamDTO.getSort() == null ? TaskCursor.CREATED_AT : taskParamDTO.getSort();
+        TaskCursor cursor = taskParamDTO.getCursor() == null
+                ? null
+                : TaskCursor.decode(taskParamDTO.getCursor(), sort);
+        List<TaskRow> tasks = taskViewService.isServing()
+                ? taskViewService.findRows(taskSpecification.buildView(taskParamDTO)
+                        .and(taskSpecification.after(cursor)), Sort.by(sort, "id"), limit + 1)
+                : taskRepository.findRows(taskSpecification.build(taskParamDTO)
+                        .and(taskSpecification.after(cursor)), Sort.by(sort, "id"), limit + 1);
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            nextCursor = TaskCursor.of(sort, tasks.get(limit - 1)).encode();
+        }
+        long total = countTasks(taskParamDTO);
+        ResourceState statuses = taskStatusRepository.findState();
+        long changes = Objects.hash(nextCursor, total);
+        Instant lastModified = null;
+        for (TaskRow task : tasks) {
+            changes = 31 * (31 * changes + task.id()) + task.version();
+            lastModified = latest(lastModified, task.lastModified());
+        }
+        return new TaskPageDTO(map(tasks), nextCursor, total, new ResourceState(tasks.size(), changes,
+                lastModified, statuses.changes(), statuses.lastModified()));
+    }
+
+    private List<TaskDTO> map(List<TaskRow> tasks) {
         return tasks.stream()
                 .map(taskMapper::map)
                 .toList();
     }
 
+    private static Instant latest(Instant lastModified, Instant candidate) {
+        return lastModified == null || candidate != null && candidate.isAfter(lastModified)
+                ? candidate
+                : lastModified;
+    }
+
+    @Transactional(readOnly = true)
+    public void streamTasks(TaskParamDTO taskParamDTO, Consumer<TaskDTO> consumer) {
+        Specification<Task> specification = taskSpecification.build(taskParamDTO);
+        taskRepository.streamAll(specification, STREAM_FETCH_SIZE, tasks -> tasks.stream()
+                .map(taskMapper::map)
+                .forEach(consumer));
+    }
+
+    public ResourceState getTasksState(TaskParamDTO taskParamDTO) {
+        return taskRepository.findState(taskSpecification.build(taskParamDTO));
+    }
+
+    public ResourceState getTaskState(Long id) {
+        return taskRepository.findStateById(id);
+    }
+
     public TaskDTO getTaskById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with ID = " + id + " not found."));
         return taskMapper.map(task);
     }
 
+    @Transactional
     public TaskDTO createTask(TaskCreateDTO taskCreateDTO) {
         Task task = taskMapper.map(taskCreateDTO);
         taskRepository.save(task);
-        return taskMapper.map(task);
+        taskSearchIndex.index(task);
+        TaskDTO taskDTO = taskMapper.map(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(null, taskDTO));
+        return taskDTO;
     }
 
-    public TaskDTO updateTask(TaskUpdateDTO taskUpdateDTO, Long id) {
+    @Transactional
+    public Tagged<TaskDTO> updateTask(TaskUpdateDTO taskUpdateDTO, Long id, String ifMatch) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with ID = " + id + " not found."));
+        if (!EntityTags.matches(ifMatch, EntityTags.of(task.getVersion(), task.getTaskStatus().getVersion()))) {
+            throw new PreconditionFailedException("Task with ID = " + id + " has been modified.");
+        }
+        TaskDTO before = taskMapper.map(task);
         taskMapper.update(taskUpdateDTO, task);
-        taskRepository.save(task);
-        return taskMapper.map(task);
+        // a change of labels alone does not dirty the row, so stamp it explicitly
+        task.setUpdatedAt(Instant.now());
+        taskRepository.saveAndFlush(task);
+        taskSearchIndex.index(task);
+        TaskDTO taskDTO = taskMapper.map(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, taskDTO));
+        return new Tagged<>(taskDTO, EntityTags.of(task.getVersion(), task.getTaskStatus().getVersion()));
     }
 
+    /**
+     * Column-level counterpart of {@link #updateTask}: only the fields present in the request are written and
+     * references are checked by id, so neither the task nor its relations are loaded as entities. The row is
+     * locked first, so the body and event built from the read below are the row the update applies to.
+     */
+    @Transactional
+    public Tagged<TaskDTO> patchTask(TaskUpdateDTO taskUpdateDTO, Long id, String ifMatch) {
+        Long lockedVersion = columnUpdateRepository.lock(Task.class, id);
+        if (lockedVersion == null) {
+            throw new ResourceNotFoundException("Task with ID = " + id + " not found.");
+        }
+        if (ifMatch != null && !EntityTags.matches(ifMatch, taskRepository.findStateById(id).etag())) {
+            throw new PreconditionFailedException("Task with ID = " + id + " has been modified.");
+        }
+        TaskRow row = taskRepository.findRows(taskSpecification.withId(id), Sort.unsorted(), 1).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Task with ID = " + id + " not found."));
+        TaskDTO before = taskMapper.map(row);
+        TaskDTO after = taskMapper.map(row);
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        if (jsonNullableMapper.isPresent(taskUpdateDTO.getTitle())) {
+            String title = taskUpdateDTO.getTitle().get();
+            if (title == null || title.isBlank()) {
+                throw new BadRequestException("The name must contain at least one character");
+            }
+            attributes.put("name", title);
+            after.setTitle(title);
+        }
+        if (jsonNullableMapper.isPresent(taskUpdateDTO.getIndex())) {
+            Integer index = taskUpdateDTO.getIndex().get();
+            if (index == null) {
+                throw new BadRequestException("The index must not be null");
+            }
+            attributes.put("index", index);
+            after.setIndex(index);
+        }
+        if (jsonNullableMapper.isPresent(taskUpdateDTO.getContent())) {
+            attributes.put("description", taskUpdateDTO.getContent().get());
+            after.setContent(taskUpdateDTO.getContent().get());
+        }
+        if (jsonNullableMapper.isPresent(taskUpdateDTO.getStatus())) {
+            String slug = taskUpdateDTO.getStatus().get();
+            if (slug == null) {
+                throw new BadRequestException("TaskStatus of task must not be null");
+            }
+            attributes.put("taskStatus", taskStatusCache.findBySlug(slug).orElseThrow(() ->
+                    new ResourceNotFoundException("Task status with slug = " + slug + " not found.")));
+            after.setStatus(slug);
+        }
+        if (jsonNullableMapper.isPresent(taskUpdateDTO.getAssigneeId())) {
+            Long assigneeId = taskUpdateDTO.getAssigneeId().get();
+            if (assigneeId != null && !userRepository.existsById(assigneeId)) {
+                throw new ResourceNotFoundException("User with " + assigneeId + " not found!");
+            }
+            attributes.put("assignee", assigneeId == null ? null : userRepository.getReferenceById(assigneeId));
+            after.setAssigneeId(assigneeId);
+        }
+        Set<Long> labelIds = null;
+        if (jsonNullableMapper.isPresent(taskUpdateDTO.getTaskLabelIds())) {
+            labelIds = taskUpdateDTO.getTaskLabelIds().get() == null
+                    ? Set.of()
+                    : taskUpdateDTO.getTaskLabelIds().get();
+            Set<Long> missing = new HashSet<>(labelIds);
+            missing.removeAll(labelCache.findExistingIds(labelIds));
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException(String.format("Label(s) with Id(s) = %s not found.", missing));
+            }
+            after.setTaskLabelIds(new HashSet<>(labelIds));
+        }
+
+        if (attributes.isEmpty() && labelIds == null) {
+            return new Tagged<>(after, taskRepository.findStateById(id).etag());
+        }
+        Long version = columnUpdateRepository.update(Task.class, id, lockedVersion, attributes);
+        if (version == null) {
+            throw new PreconditionFailedException("Task with ID = " + id + " has been modified.");
+        }
+        if (labelIds != null && !labelIds.equals(before.getTaskLabelIds())) {
+            taskRepository.replaceLabels(id, labelIds);
+        }
+        if (attributes.containsKey("name") || attributes.containsKey("description")) {
+            taskSearchIndex.index(id, after.getTitle(), after.getContent());
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(before, after));
+        Long statusVersion = taskStatusCache.findBySlug(after.getStatus())
+                .map(TaskStatus::getVersion)
+                .orElse(null);
+        return new Tagged<>(after, EntityTags.of(version, statusVersion));
+    }
+
+    @Transactional
     public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            TaskDTO before = taskMapper.map(task);
+            taskSearchIndex.remove(id);
+            taskRepository.delete(task);
+            eventPublisher.publishEvent(new TaskChangedEvent(before, null));
+        });
+    }
+
+    public long countTasks(TaskParamDTO taskParamDTO) {
+        return taskCounter.count(taskParamDTO);
     }
 }
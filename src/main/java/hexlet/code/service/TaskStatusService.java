@@ -1,14 +1,21 @@
 package hexlet.code.service;
 
+import hexlet.code.cache.TaskStatusCache;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mappers.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.utils.AfterCommit;
+import hexlet.code.utils.EntityTags;
+import hexlet.code.utils.ResourceState;
+import hexlet.code.utils.Tagged;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,39 +24,61 @@ import java.util.List;
 public class TaskStatusService {
     private final TaskStatusRepository taskStatusRepository;
     private final TaskStatusMapper taskStatusMapper;
+    private final TaskStatusCache taskStatusCache;
+    private final TaskViewService taskViewService;
 
     public List<TaskStatusDTO> getAllTaskStatuses() {
-        List<TaskStatus> taskStatuses = taskStatusRepository.findAll();
+        List<TaskStatus> taskStatuses = taskStatusCache.findAll();
         return taskStatuses.stream()
                 .map(taskStatusMapper::map)
                 .toList();
     }
 
+    public ResourceState getTaskStatusesState() {
+        return taskStatusRepository.findState();
+    }
+
+    public ResourceState getTaskStatusState(Long id) {
+        return taskStatusRepository.findStateById(id);
+    }
+
     public TaskStatusDTO getTaskStatusDTOById(Long id) {
         TaskStatus taskStatus = getTaskStatusById(id);
         return taskStatusMapper.map(taskStatus);
     }
 
     public TaskStatus getTaskStatusById(Long id) {
-        return taskStatusRepository.findById(id)
+        return taskStatusCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task status with ID = " + id + " not found."));
     }
 
     public TaskStatusDTO createTaskStatus(TaskStatusCreateDTO taskStatusCreateDTO) {
         TaskStatus taskStatus = taskStatusMapper.map(taskStatusCreateDTO);
         taskStatusRepository.save(taskStatus);
+        taskStatusCache.evict(taskStatus.getId(), taskStatus.getSlug());
         return taskStatusMapper.map(taskStatus);
     }
 
-    public TaskStatusDTO updateTaskStatus(TaskStatusUpdateDTO taskStatusUpdateDTO, Long id) {
+    @Transactional
+    public Tagged<TaskStatusDTO> updateTaskStatus(TaskStatusUpdateDTO taskStatusUpdateDTO, Long id, String ifMatch) {
         TaskStatus taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task status with ID = " + id + " not found."));
+        if (!EntityTags.matches(ifMatch, EntityTags.of(taskStatus.getVersion()))) {
+            throw new PreconditionFailedException("Task status with ID = " + id + " has been modified.");
+        }
+        String oldSlug = taskStatus.getSlug();
         taskStatusMapper.map(taskStatusUpdateDTO, taskStatus);
-        taskStatusRepository.save(taskStatus);
-        return taskStatusMapper.map(taskStatus);
+        taskStatusRepository.saveAndFlush(taskStatus);
+        String slug = taskStatus.getSlug();
+        AfterCommit.run(() -> taskStatusCache.evict(id, oldSlug, slug));
+        taskViewService.renameStatus(oldSlug, slug);
+        return new Tagged<>(taskStatusMapper.map(taskStatus), EntityTags.of(taskStatus.getVersion()));
     }
 
     public void deleteTaskStatus(Long id) {
-        taskStatusRepository.deleteById(id);
+        taskStatusRepository.findById(id).ifPresent(taskStatus -> {
+            taskStatusRepository.delete(taskStatus);
+            taskStatusCache.evict(id, taskStatus.getSlug());
+        });
     }
 }
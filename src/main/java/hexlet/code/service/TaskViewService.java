@@ -0,0 +1,223 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskRow;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.model.TaskView;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskViewRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskSpecification;
+import hexlet.code.utils.AfterCommit;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the task_view read model in step with task writes, in the transaction of the write, and serves task
+ * listings from it. Writes that bypass the services are not seen; {@link #rebuild} repairs such drift and
+ * runs on startup, since nothing is maintained while the read model is disabled. Listings are served from the task
+ * tables until the first rebuild has committed. A rebuild excludes maintenance in this instance until it completes:
+ * it would otherwise copy a row before a concurrent write commits and then collide with that write's own copy.
+ */
+@Service
+public class TaskViewService {
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskSpecification taskSpecification;
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final ReadWriteLock rebuilding = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public TaskViewService(TaskViewRepository taskViewRepository, TaskRepository taskRepository,
+                           UserRepository userRepository, TaskSpecification taskSpecification,
+                           EntityManager entityManager,
+                           @Value("${app.tasks.read-model.enabled:false}") boolean enabled) {
+        this.taskViewRepository = taskViewRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.taskSpecification = taskSpecification;
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isServing() {
+        return enabled && ready;
+    }
+
+    public List<TaskRow> findRows(Specification<TaskView> specification, Sort sort, int limit) {
+        return taskViewRepository.findRows(specification, sort, limit);
+    }
+
+    /**
+     * Written rows are copied from the task tables rather than from the event, since the version the write
+     * produced is only known there.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        fence();
+        if (event.after() == null) {
+            taskViewRepository.deleteLabels(List.of(event.before().getId()));
+            taskViewRepository.deleteById(event.before().getId());
+            return;
+        }
+        refresh(List.of(event.after().getId()));
+    }
+
+    /**
+     * Bulk writes change status, assignee and labels of many rows at once, so their rows are copied again.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        if (enabled) {
+            fence();
+            refresh(event.taskIds());
+        }
+    }
+
+    @Transactional
+    public void renameStatus(String oldSlug, String slug) {
+        if (enabled && !Objects.equals(oldSlug, slug)) {
+            fence();
+            taskViewRepository.renameStatus(oldSlug, slug);
+        }
+    }
+
+    @Transactional
+    public void renameAssignee(Long assigneeId, String firstName, String lastName) {
+        if (enabled) {
+            fence();
+            taskViewRepository.renameAssignee(assigneeId, nameOf(firstName, lastName));
+        }
+    }
+
+    /**
+     * Recreates every row from the task tables in chunks of ids.
+     *
+     * @return number of tasks in the rebuilt view
+     */
+    @Transactional
+    public int rebuild() {
+        hold(rebuilding.writeLock());
+        taskViewRepository.deleteAllLabels();
+        taskViewRepository.deleteAllInBatch();
+        List<Long> taskIds = taskRepository.findIds(Specification.where(null));
+        for (int from = 0; from < taskIds.size(); from += REBUILD_CHUNK_SIZE) {
+            copy(taskIds.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, taskIds.size())));
+            taskViewRepository.flush();
+            entityManager.clear();
+        }
+        AfterCommit.run(() -> ready = true);
+        return taskIds.size();
+    }
+
+    /**
+     * Takes the shared side of the rebuild lock once per transaction, so a rebuild waits for the writes already
+     * maintaining the view to complete and later writes wait for the rebuild.
+     */
+    private void fence() {
+        if (!TransactionSynchronizationManager.hasResource(rebuilding)) {
+            TransactionSynchronizationManager.bindResource(rebuilding, Boolean.TRUE);
+            hold(rebuilding.readLock());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(rebuilding);
+                }
+            });
+        }
+    }
+
+    /**
+     * Locks until the surrounding transaction completes, whether it commits or rolls back.
+     */
+    private static void hold(Lock lock) {
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void refresh(List<Long> taskIds) {
+        for (int from = 0; from < taskIds.size(); from += REBUILD_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, taskIds.size()));
+            taskViewRepository.deleteLabels(chunk);
+            taskViewRepository.deleteAllByIdInBatch(chunk);
+            copy(chunk);
+        }
+    }
+
+    private void copy(List<Long> taskIds) {
+        List<TaskRow> rows = taskRepository.findRows(taskSpecification.withIds(taskIds), Sort.by("id"),
+                taskIds.size());
+        Set<Long> assigneeIds = rows.stream()
+                .map(TaskRow::assigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> names = new HashMap<>();
+        userRepository.findAllById(assigneeIds).forEach(user -> names.put(user.getId(), nameOf(user)));
+        taskViewRepository.saveAll(rows.stream()
+                .map(row -> {
+                    TaskView view = new TaskView(row.id());
+                    view.setIndex(row.index());
+                    view.setName(row.name());
+                    view.setDescription(row.description());
+                    view.setStatus(row.status());
+                    view.setAssigneeId(row.assigneeId());
+                    view.setAssigneeName(row.assigneeId() == null ? null : names.get(row.assigneeId()));
+                    view.setCreatedAt(row.createdAt());
+                    view.setVersion(row.version());
+                    view.setLastModified(row.lastModified());
+                    return view;
+                })
+                .toList());
+        taskViewRepository.insertLabels(rows);
+    }
+
+    private static String nameOf(User user) {
+        return nameOf(user.getFirstName(), user.getLastName());
+    }
+
+    private static String nameOf(String firstName, String lastName) {
+        String name = Stream.of(firstName, lastName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "))
+                .strip();
+        return name.isEmpty() ? null : name;
+    }
+}
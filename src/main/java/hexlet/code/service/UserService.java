@@ -1,22 +1,43 @@
 package hexlet.code.service;
 
+import hexlet.code.cache.UserPrincipalCache;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.UserRow;
 import hexlet.code.dto.UserUpdateDTO;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.mappers.JsonNullableMapper;
 import hexlet.code.mappers.UserMapper;
 import hexlet.code.model.User;
+import hexlet.code.repository.ColumnUpdateRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.AfterCommit;
+import hexlet.code.utils.EntityTags;
+import hexlet.code.utils.ResourceState;
+import hexlet.code.utils.Tagged;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final JsonNullableMapper jsonNullableMapper;
+    private final ColumnUpdateRepository columnUpdateRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TaskViewService taskViewService;
 
     public List<UserDTO> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -25,6 +46,14 @@ public class UserService {
                 .toList();
     }
 
+    public ResourceState getUsersState() {
+        return userRepository.findState();
+    }
+
+    public ResourceState getUserState(Long id) {
+        return userRepository.findStateById(id);
+    }
+
     public UserDTO getUserDTOById(Long id) {
         User user = getUserById(id);
         return userMapper.map(user);
@@ -36,16 +65,92 @@ public class UserService {
         return userMapper.map(user);
     }
 
-    public UserDTO updateUser(UserUpdateDTO userUpdateDTO, Long id) {
+    @Transactional
+    public Tagged<UserDTO> updateUser(UserUpdateDTO userUpdateDTO, Long id, String ifMatch) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with ID = " + id + " not found."));
+        if (!EntityTags.matches(ifMatch, EntityTags.of(user.getVersion()))) {
+            throw new PreconditionFailedException("User with ID = " + id + " has been modified.");
+        }
+        String oldEmail = user.getEmail();
+        String oldFirstName = user.getFirstName();
+        String oldLastName = user.getLastName();
         userMapper.update(userUpdateDTO, user);
-        userRepository.save(user);
-        return userMapper.map(user);
+        userRepository.saveAndFlush(user);
+        String email = user.getEmail();
+        AfterCommit.run(() -> userPrincipalCache.evict(oldEmail, email));
+        if (!Objects.equals(oldFirstName, user.getFirstName()) || !Objects.equals(oldLastName, user.getLastName())) {
+            taskViewService.renameAssignee(id, user.getFirstName(), user.getLastName());
+        }
+        return new Tagged<>(userMapper.map(user), EntityTags.of(user.getVersion()));
+    }
+
+    /**
+     * Writes only the fields present in the request with a single update instead of saving the whole entity. The
+     * row is locked and read as a projection, so the response shows the row the update applied to.
+     */
+    @Transactional
+    public Tagged<UserDTO> patchUser(UserUpdateDTO userUpdateDTO, Long id, String ifMatch) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getFirstName())) {
+            attributes.put("firstName", userUpdateDTO.getFirstName().get());
+        }
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getLastName())) {
+            attributes.put("lastName", userUpdateDTO.getLastName().get());
+        }
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getEmail())) {
+            String email = userUpdateDTO.getEmail().get();
+            if (email == null || email.isBlank()) {
+                throw new BadRequestException("Email must not be empty");
+            }
+            attributes.put("email", email);
+        }
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getPassword())) {
+            String password = userUpdateDTO.getPassword().get();
+            if (password == null) {
+                throw new BadRequestException("Password must not be null");
+            }
+            attributes.put("passwordDigest", passwordEncoder.encode(password));
+        }
+        Long lockedVersion = columnUpdateRepository.lock(User.class, id);
+        if (lockedVersion == null) {
+            throw new ResourceNotFoundException("User with ID = " + id + " not found.");
+        }
+        if (ifMatch != null && !EntityTags.matches(ifMatch, userRepository.findStateById(id).etag())) {
+            throw new PreconditionFailedException("User with ID = " + id + " has been modified.");
+        }
+        UserRow row = userRepository.findRowById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User with ID = " + id + " not found."));
+        UserDTO userDTO = userMapper.map(row);
+        if (attributes.isEmpty()) {
+            return new Tagged<>(userDTO, EntityTags.of(lockedVersion));
+        }
+        Long version = columnUpdateRepository.update(User.class, id, lockedVersion, attributes);
+        if (version == null) {
+            throw new PreconditionFailedException("User with ID = " + id + " has been modified.");
+        }
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getFirstName())) {
+            userDTO.setFirstName(userUpdateDTO.getFirstName().get());
+        }
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getLastName())) {
+            userDTO.setLastName(userUpdateDTO.getLastName().get());
+        }
+        if (jsonNullableMapper.isPresent(userUpdateDTO.getEmail())) {
+            userDTO.setEmail(userUpdateDTO.getEmail().get());
+        }
+        AfterCommit.run(() -> userPrincipalCache.evict(row.email(), userDTO.getEmail()));
+        if (attributes.containsKey("firstName") || attributes.containsKey("lastName")) {
+            taskViewService.renameAssignee(id, userDTO.getFirstName(), userDTO.getLastName());
+        }
+        userDTO.setUpdatedAt(Instant.now());
+        return new Tagged<>(userDTO, EntityTags.of(version));
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            userPrincipalCache.evict(user.getEmail());
+        });
     }
 
     public User getUserById(Long id) {
@@ -0,0 +1,52 @@
+package hexlet.code.specification;
+
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.dto.TaskRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key value and id of the last task a client has seen.
+ */
+public record TaskCursor(String sort, String value, Long id) {
+    public static final String CREATED_AT = "createdAt";
+    public static final String INDEX = "index";
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor of(String sort, TaskRow taskRow) {
+        String value = INDEX.equals(sort)
+                ? String.valueOf(taskRow.index())
+                : taskRow.createdAt().toString();
+        return new TaskCursor(sort, value, taskRow.id());
+    }
+
+    public static TaskCursor decode(String cursor, String sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor " + cursor + " is malformed.");
+        }
+        if (parts.length != 3 || !parts[0].equals(sort)) {
+            throw new BadRequestException("Cursor " + cursor + " does not match sort " + sort + ".");
+        }
+        try {
+            if (INDEX.equals(sort)) {
+                Integer.parseInt(parts[1]);
+            } else {
+                Instant.parse(parts[1]);
+            }
+            return new TaskCursor(parts[0], parts[1], Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor " + cursor + " is malformed.");
+        }
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
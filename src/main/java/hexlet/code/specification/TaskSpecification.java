@@ -2,22 +2,108 @@ package hexlet.code.specification;
 
 import hexlet.code.dto.TaskParamDTO;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskTrigram;
+import hexlet.code.model.TaskView;
+import hexlet.code.model.TaskViewLabel;
+import hexlet.code.service.TaskSearchIndex;
+import hexlet.code.utils.TrigramUtils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+
 @Component
+@RequiredArgsConstructor
 public class TaskSpecification {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final TaskSearchIndex taskSearchIndex;
+
     public Specification<Task> build(TaskParamDTO taskParamDTO) {
-        return withTitleCont(taskParamDTO.getTitleCont())
+        return this.<Task>withTitleCont(taskParamDTO.getTitleCont())
                 .and(withAssigneeId(taskParamDTO.getAssigneeId()))
                 .and(withStatus(taskParamDTO.getStatus()))
                 .and(withLabel(taskParamDTO.getLabelId()));
     }
 
-    private Specification<Task> withTitleCont(String titleCont) {
-        return (root, query, criteriaBuilder) -> titleCont == null
-                ? criteriaBuilder.conjunction()
-                : criteriaBuilder.like(root.get("name"), "%" + titleCont + "%");
+    /**
+     * The same filters over the task_view read model, where all but the label are columns of that table.
+     */
+    public Specification<TaskView> buildView(TaskParamDTO taskParamDTO) {
+        return this.<TaskView>withTitleCont(taskParamDTO.getTitleCont())
+                .and(withValue("assigneeId", taskParamDTO.getAssigneeId()))
+                .and(withValue("status", taskParamDTO.getStatus()))
+                .and(withViewLabel(taskParamDTO.getLabelId()));
+    }
+
+    public Specification<Task> withId(Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+    }
+
+    public Specification<Task> withIds(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    public <T> Specification<T> after(TaskCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.conjunction();
+            }
+            Path<Long> id = root.get("id");
+            if (TaskCursor.INDEX.equals(cursor.sort())) {
+                return after(criteriaBuilder, root.get("index"), Integer.valueOf(cursor.value()), id, cursor.id());
+            }
+            return after(criteriaBuilder, root.get("createdAt"), Instant.parse(cursor.value()), id, cursor.id());
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder criteriaBuilder, Path<Y> key,
+                                                                     Y value, Path<Long> id, Long lastId) {
+        return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(key, value),
+                criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.greaterThan(id, lastId)));
+    }
+
+    /**
+     * Matches the term in the name or the description, ignoring case, as the trigram index covers both. Tasks
+     * holding every trigram of the term are picked from the index first and then confirmed with LIKE.
+     */
+    private <T> Specification<T> withTitleCont(String titleCont) {
+        return (root, query, criteriaBuilder) -> {
+            if (titleCont == null) {
+                return criteriaBuilder.conjunction();
+            }
+            String pattern = "%" + escapeLike(TrigramUtils.normalize(titleCont)) + "%";
+            Predicate matches = criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), pattern, LIKE_ESCAPE));
+            Set<String> trigrams = TrigramUtils.trigrams(titleCont);
+            if (trigrams.isEmpty() || !taskSearchIndex.isReady()) {
+                return matches;
+            }
+            Subquery<Long> candidates = query.subquery(Long.class);
+            Root<TaskTrigram> taskTrigram = candidates.from(TaskTrigram.class);
+            candidates.select(taskTrigram.get("taskId"))
+                    .where(taskTrigram.get("trigram").in(trigrams))
+                    .groupBy(taskTrigram.get("taskId"))
+                    .having(criteriaBuilder.equal(
+                            criteriaBuilder.count(taskTrigram.get("trigram")), (long) trigrams.size()));
+            return criteriaBuilder.and(root.get("id").in(candidates), matches);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
     private Specification<Task> withAssigneeId(Long assigneeId) {
@@ -40,4 +126,24 @@ public class TaskSpecification {
                         ? criteriaBuilder.conjunction()
                         : criteriaBuilder.equal(root.join("labels").get("id"), labelId);
     }
+
+    private static <T> Specification<T> withValue(String attribute, Object value) {
+        return (root, query, criteriaBuilder) ->
+                value == null
+                        ? criteriaBuilder.conjunction()
+                        : criteriaBuilder.equal(root.get(attribute), value);
+    }
+
+    private static Specification<TaskView> withViewLabel(Long labelId) {
+        return (root, query, criteriaBuilder) -> {
+            if (labelId == null) {
+                return criteriaBuilder.conjunction();
+            }
+            Subquery<Long> taskIds = query.subquery(Long.class);
+            Root<TaskViewLabel> label = taskIds.from(TaskViewLabel.class);
+            taskIds.select(label.get("taskId"))
+                    .where(criteriaBuilder.equal(label.get("labelId"), labelId));
+            return root.get("id").in(taskIds);
+        };
+    }
 }
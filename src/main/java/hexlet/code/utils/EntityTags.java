@@ -0,0 +1,36 @@
+package hexlet.code.utils;
+
+import java.util.Arrays;
+
+/**
+ * Strong entity tags built from {@code @Version} columns. They are handed out with single resources and
+ * compared against {@code If-Match} on writes.
+ */
+public final class EntityTags {
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * For representations that embed another row, e.g. a task showing its status slug.
+     */
+    public static String of(Long version, Long dependencyVersion) {
+        return dependencyVersion == null ? of(version) : "\"" + version + "." + dependencyVersion + "\"";
+    }
+
+    /**
+     * Strong comparison as in RFC 9110: weak tags never match, {@code *} matches any existing resource
+     * and a missing header leaves the write unconditional.
+     */
+    public static boolean matches(String ifMatch, String tag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(tag));
+    }
+}
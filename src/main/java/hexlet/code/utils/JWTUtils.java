@@ -12,16 +12,19 @@ import java.time.temporal.ChronoUnit;
 @Component
 @RequiredArgsConstructor
 public class JWTUtils {
+    public static final String USER_ID_CLAIM = "uid";
+
     private final JwtEncoder jwtEncoder;
 
     //it's unusual
-    public String generateToken(String email) {
+    public String generateToken(String email, Long userId) {
         Instant now = Instant.now();
         JwtClaimsSet jwtClaimsSet = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
                 .expiresAt(now.plus(1, ChronoUnit.HOURS))
                 .subject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .build();
         return jwtEncoder.encode(JwtEncoderParameters.from(jwtClaimsSet)).getTokenValue();
     }
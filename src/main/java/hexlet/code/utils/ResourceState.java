@@ -0,0 +1,79 @@
+package hexlet.code.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validators of a resource or collection read with a cheap aggregate query: how many rows it has, the sum
+ * of their versions and when the newest of them changed. Collections get a weak ETag derived from all three,
+ * since timestamps are stamped by the application clock and may not move on every commit while the version sum
+ * does; single resources get a strong one from their versions. Either way conditional GETs can be answered
+ * without loading or serializing the entities.
+ */
+public record ResourceState(long count, Instant lastModified, long changes, Long version, Long dependencyVersion) {
+    public ResourceState(long count, Long changes, Instant lastModified) {
+        this(count, lastModified, changes == null ? 0 : changes, null, null);
+    }
+
+    /**
+     * Used by probes that also depend on rows of another table, e.g. tasks embedding their status slug.
+     */
+    public ResourceState(long count, Long changes, Instant lastModified, Long dependencyChanges,
+                         Instant dependency) {
+        this(count, latest(lastModified, dependency),
+                (changes == null ? 0 : changes) + (dependencyChanges == null ? 0 : dependencyChanges), null, null);
+    }
+
+    public ResourceState(long count, Instant lastModified, Long version) {
+        this(count, lastModified, 0, version, null);
+    }
+
+    public ResourceState(long count, Instant lastModified, Instant dependency, Long version,
+                         Long dependencyVersion) {
+        this(count, latest(lastModified, dependency), 0, version, dependencyVersion);
+    }
+
+    private static Instant latest(Instant lastModified, Instant dependency) {
+        return lastModified == null || dependency != null && dependency.isAfter(lastModified)
+                ? dependency
+                : lastModified;
+    }
+
+    public boolean exists() {
+        return count > 0;
+    }
+
+    public String etag() {
+        if (version != null) {
+            return EntityTags.of(version, dependencyVersion);
+        }
+        long micros = lastModified == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, lastModified);
+        return "W/\"" + count + "-" + Long.toHexString(micros) + "-" + Long.toHexString(changes) + "\"";
+    }
+
+    /**
+     * Whether the client sent a validator, i.e. whether probing can save it a body at all.
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Adds the validators to the response and returns {@code true} when the client copy is current,
+     * in which case the response has already been turned into a 304. Missing resources and empty
+     * collections get no validators.
+     */
+    public boolean isNotModified(WebRequest request) {
+        if (!exists()) {
+            return false;
+        }
+        if (lastModified == null) {
+            return request.checkNotModified(etag());
+        }
+        return request.checkNotModified(etag(), lastModified.toEpochMilli());
+    }
+}
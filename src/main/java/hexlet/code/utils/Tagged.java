@@ -0,0 +1,8 @@
+package hexlet.code.utils;
+
+/**
+ * A representation returned by a write together with the entity tag of the version that write produced, so the
+ * response does not have to probe the row again and risk tagging someone else's later change.
+ */
+public record Tagged<T>(T body, String etag) {
+}
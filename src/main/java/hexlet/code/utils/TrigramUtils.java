@@ -0,0 +1,28 @@
+package hexlet.code.utils;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public final class TrigramUtils {
+    public static final int GRAM_LENGTH = 3;
+
+    private TrigramUtils() {
+    }
+
+    public static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        String normalized = normalize(text);
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            trigrams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
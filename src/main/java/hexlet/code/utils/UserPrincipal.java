@@ -0,0 +1,4 @@
+package hexlet.code.utils;
+
+public record UserPrincipal(Long id, String email) {
+}
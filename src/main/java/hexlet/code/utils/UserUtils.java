@@ -1,16 +1,21 @@
 package hexlet.code.utils;
 
+import hexlet.code.cache.UserPrincipalCache;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 @RequiredArgsConstructor
 public class UserUtils {
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -21,8 +26,23 @@ public class UserUtils {
         return userRepository.findByEmail(username).get();
     }
 
+    public Optional<UserPrincipal> getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            Object userId = jwtAuthentication.getToken().getClaims().get(JWTUtils.USER_ID_CLAIM);
+            if (userId instanceof Number number) {
+                return Optional.of(new UserPrincipal(number.longValue(), authentication.getName()));
+            }
+        }
+        return userPrincipalCache.findByEmail(authentication.getName());
+    }
+
     public boolean isUserTheSameFromAuthentication(long id) {
-        User currentUser = getCurrentUser();
-        return currentUser != null && currentUser.getId() == id;
+        return getCurrentPrincipal()
+                .map(principal -> principal.id() == id)
+                .orElse(false);
     }
 }
@@ -0,0 +1,58 @@
+package hexlet.code.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import hexlet.code.component.CachingJwtDecoder;
+import hexlet.code.utils.JWTUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@SpringBootTest
+@Tag("benchmark")
+public class JwtDecoderBenchmarkTest {
+    private static final int CLIENTS = 50;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+    private static final double NANOS_IN_MICRO = 1_000.0;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    public void compareVerifyingAndCachingDecoders() {
+        JwtDecoder verifying = ((CachingJwtDecoder) jwtDecoder).getDelegate();
+        CachingJwtDecoder caching = new CachingJwtDecoder(verifying, new SimpleMeterRegistry(), 10_000);
+        List<String> tokens = IntStream.range(0, CLIENTS)
+                .mapToObj(i -> jwtUtils.generateToken("client" + i + "@example.com", (long) i))
+                .toList();
+
+        double before = cpuMicrosPerRequest(verifying, tokens);
+        double after = cpuMicrosPerRequest(caching, tokens);
+
+        System.out.printf("%-10s %16s%n", "decoder", "CPU us/request");
+        System.out.printf("%-10s %16.2f%n", "nimbus", before);
+        System.out.printf("%-10s %16.2f%n", "caching", after);
+    }
+
+    private static double cpuMicrosPerRequest(JwtDecoder decoder, List<String> tokens) {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            decoder.decode(tokens.get(i % tokens.size()));
+        }
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long cpuBefore = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            decoder.decode(tokens.get(i % tokens.size()));
+        }
+        long cpu = threadMXBean.getCurrentThreadCpuTime() - cpuBefore;
+        return cpu / NANOS_IN_MICRO / MEASURED_REQUESTS;
+    }
+}
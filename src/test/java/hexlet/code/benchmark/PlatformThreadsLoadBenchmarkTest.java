@@ -0,0 +1,17 @@
+package hexlet.code.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=false",
+    "spring.jpa.show-sql=false",
+    "app.threads.pinning-diagnostics.enabled=false"
+})
+@Tag("benchmark")
+public class PlatformThreadsLoadBenchmarkTest extends TaskListLoadBenchmark {
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,154 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import hexlet.code.utils.JWTUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@code GET /api/tasks} with many concurrent clients over real HTTP and prints throughput and latency
+ * percentiles. Subclasses start the application with platform or virtual request threads.
+ */
+abstract class TaskListLoadBenchmark {
+    private static final int TASK_COUNT = 2000;
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ModelGenerator modelGenerator;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private URI uri;
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        User assignee = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(assignee);
+        List<Task> tasks = Instancio.ofList(modelGenerator.getTask()).size(TASK_COUNT).create();
+        tasks.forEach(task -> {
+            task.setTaskStatus(taskStatus);
+            task.setAssignee(assignee);
+        });
+        taskRepository.saveAll(tasks);
+
+        uri = URI.create("http://localhost:" + port + "/api/tasks?limit=50&status=" + taskStatus.getSlug());
+        token = jwtUtils.generateToken(assignee.getEmail(), assignee.getId());
+    }
+
+    protected abstract String mode();
+
+    @Test
+    public void measureConcurrentTaskListing() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+                .build();
+        run(client, WARMUP);
+        double pinnedBefore = pinned();
+        Result result = run(client, MEASUREMENT);
+
+        System.out.printf("%-10s %10s %10s %10s %10s %8s%n", "threads", "req/s", "p50 ms", "p99 ms", "errors",
+                "pinned");
+        System.out.printf("%-10s %10.0f %10.2f %10.2f %10d %8.0f%n", mode(),
+                result.latencies.length / (double) MEASUREMENT.toSeconds(),
+                result.percentile(0.50), result.percentile(0.99), result.errors, pinned() - pinnedBefore);
+        assertThat(result.errors).isZero();
+    }
+
+    private Result run(HttpClient client, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long startedAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors++;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - startedAt;
+                    }
+                    return new Result(Arrays.copyOf(latencies, count), errors);
+                }));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return Result.merge(results);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private double pinned() {
+        Counter counter = meterRegistry.find("threads.virtual.pinned").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private record Result(long[] latencies, long errors) {
+        private static Result merge(List<Result> results) {
+            long[] latencies = results.stream()
+                    .flatMapToLong(result -> Arrays.stream(result.latencies))
+                    .sorted()
+                    .toArray();
+            return new Result(latencies, results.stream().mapToLong(Result::errors).sum());
+        }
+
+        private double percentile(double quantile) {
+            int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / NANOS_IN_MILLI;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package hexlet.code.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.mappers.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskService;
+import hexlet.code.specification.TaskSpecification;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Tag("benchmark")
+public class TaskReadPathBenchmarkTest {
+    private static final int TASK_COUNT = 5000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    private static final double BYTES_IN_MEGABYTE = 1024.0 * 1024.0;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskSpecification taskSpecification;
+    @Autowired
+    private TaskMapper taskMapper;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private TaskParamDTO taskParamDTO;
+
+    @BeforeEach
+    public void setUp() {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        User assignee = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(assignee);
+        List<Label> labels = Instancio.ofList(modelGenerator.getLabel()).size(2).create();
+        labelRepository.saveAll(labels);
+
+        List<Task> tasks = Instancio.ofList(modelGenerator.getTask()).size(TASK_COUNT).create();
+        tasks.forEach(task -> {
+            task.setTaskStatus(taskStatus);
+            task.setAssignee(assignee);
+            task.setLabels(Set.copyOf(labels));
+        });
+        taskRepository.saveAll(tasks);
+
+        taskParamDTO = new TaskParamDTO();
+        taskParamDTO.setStatus(taskStatus.getSlug());
+    }
+
+    @Test
+    public void compareEntityAndProjectionReadPaths() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        Measurement entities = measure(() -> transactionTemplate.execute(status ->
+                taskRepository.findAll(taskSpecification.build(taskParamDTO)).stream()
+                        .map(taskMapper::map)
+                        .toList()));
+        Measurement projections = measure(() -> transactionTemplate.execute(status ->
+                taskService.getAllTasks(taskParamDTO).getTasks()));
+
+        System.out.printf("%-12s %12s %16s%n", "path", "avg ms/op", "allocated MB/op");
+        System.out.printf("%-12s %12.2f %16.2f%n", "entity", entities.millisPerOp(), entities.megabytesPerOp());
+        System.out.printf("%-12s %12.2f %16.2f%n", "projection", projections.millisPerOp(),
+                projections.megabytesPerOp());
+    }
+
+    private Measurement measure(Supplier<List<TaskDTO>> readPath) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(readPath.get()).hasSize(TASK_COUNT);
+        }
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            readPath.get();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(elapsed / NANOS_IN_MILLI / MEASURED_ITERATIONS,
+                allocated / BYTES_IN_MEGABYTE / MEASURED_ITERATIONS);
+    }
+
+    private record Measurement(double millisPerOp, double megabytesPerOp) {
+    }
+}
@@ -0,0 +1,20 @@
+package hexlet.code.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.jpa.show-sql=false",
+    "app.threads.pinning-diagnostics.enabled=true"
+})
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadsLoadBenchmarkTest extends TaskListLoadBenchmark {
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
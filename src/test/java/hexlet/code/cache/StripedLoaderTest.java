@@ -0,0 +1,63 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedLoaderTest {
+    private final StripedLoader loader = new StripedLoader();
+    private final Cache<Long, String> cache = Caffeine.newBuilder().build();
+
+    @Test
+    public void testBulkLoadLoadsOnlyMissingKeys() {
+        cache.put(1L, "cached");
+        Map<Long, String> values = loader.getAll(cache, Set.of(1L, 2L, 3L), missing -> {
+            assertThat(missing).containsExactlyInAnyOrder(2L, 3L);
+            return Map.of(2L, "loaded");
+        });
+
+        assertThat(values).containsOnly(Map.entry(1L, "cached"), Map.entry(2L, "loaded"));
+        assertThat(cache.asMap()).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    public void testEvictionWaitsForBulkLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Map<Long, String>> load = CompletableFuture.supplyAsync(() ->
+                loader.getAll(cache, Set.of(1L, 2L), missing -> {
+                    loading.countDown();
+                    await(release);
+                    return missing.stream().collect(Collectors.toMap(Function.identity(), key -> "stale"));
+                }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> evict = CompletableFuture.runAsync(() -> loader.invalidate(cache, List.of(2L)));
+        Thread.sleep(100);
+        assertThat(evict).isNotDone();
+
+        release.countDown();
+        assertThat(load.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L, 2L);
+        evict.get(5, TimeUnit.SECONDS);
+        assertThat(cache.asMap()).containsOnlyKeys(1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package hexlet.code.component;
+
+import hexlet.code.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    public void testMatchesRunsOnHashingPool() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), meterRegistry, 1, 1, Duration.ofSeconds(5));
+        release.countDown();
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(encoder.matches("secret", "other")).isFalse();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), meterRegistry, 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        waitForQueuedTask();
+
+        assertThatThrownBy(() -> encoder.matches("c", "c"))
+                .isInstanceOfSatisfying(PasswordHashingRejectedException.class,
+                        e -> assertThat(e.isSaturated()).isTrue());
+        assertThat(meterRegistry.get("password.hashing.rejected").tag("reason", "saturated").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testRejectsWhenHashingTakesTooLong() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), meterRegistry, 1, 1, Duration.ofMillis(100));
+        assertThatThrownBy(() -> encoder.matches("a", "a"))
+                .isInstanceOfSatisfying(PasswordHashingRejectedException.class,
+                        e -> assertThat(e.isSaturated()).isFalse());
+        assertThat(meterRegistry.get("password.hashing.rejected").tag("reason", "timeout").counter().count())
+                .isEqualTo(1);
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("executor.queued").gauge().value() > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Hashing task was not queued");
+    }
+
+    private final class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
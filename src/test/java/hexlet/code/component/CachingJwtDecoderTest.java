@@ -0,0 +1,58 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingJwtDecoderTest {
+    private final Map<String, Integer> calls = new HashMap<>();
+    private final Map<String, Instant> expirations = new HashMap<>();
+    private final JwtDecoder delegate = token -> {
+        calls.merge(token, 1, Integer::sum);
+        if (token.startsWith("bad")) {
+            throw new BadJwtException("Invalid signature");
+        }
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("hexlet@example.com")
+                .issuedAt(Instant.now().minus(1, ChronoUnit.DAYS))
+                .expiresAt(expirations.get(token))
+                .build();
+    };
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, new SimpleMeterRegistry(), 100);
+
+    @Test
+    public void testVerifiedTokenIsDecodedOnce() {
+        expirations.put("first", Instant.now().plus(1, ChronoUnit.HOURS));
+        expirations.put("second", Instant.now().plus(1, ChronoUnit.HOURS));
+        Jwt jwt = decoder.decode("first");
+        assertThat(decoder.decode("first")).isSameAs(jwt);
+        decoder.decode("second");
+        assertThat(calls).containsEntry("first", 1).containsEntry("second", 1);
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        assertThatThrownBy(() -> decoder.decode("bad token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad token")).isInstanceOf(BadJwtException.class);
+        assertThat(calls).containsEntry("bad token", 2);
+    }
+
+    @Test
+    public void testExpiredTokensAreNotServedFromCache() {
+        expirations.put("expired", Instant.now().minusSeconds(30));
+        decoder.decode("expired");
+        decoder.decode("expired");
+        assertThat(calls).containsEntry("expired", 2);
+    }
+}
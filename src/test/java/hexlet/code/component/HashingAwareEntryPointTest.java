@@ -0,0 +1,39 @@
+package hexlet.code.component;
+
+import hexlet.code.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashingAwareEntryPointTest {
+    private final HashingAwareEntryPoint entryPoint = new HashingAwareEntryPoint();
+
+    @Test
+    public void testMapsRejectedHashingToRetryableStatus() throws Exception {
+        MockHttpServletResponse saturated = new MockHttpServletResponse();
+        entryPoint.commence(new MockHttpServletRequest(), saturated,
+                new PasswordHashingRejectedException("Too many authentication requests, try again later.", true));
+        assertThat(saturated.getStatus()).isEqualTo(429);
+        assertThat(saturated.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(saturated.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isNull();
+        assertThat(saturated.getContentAsString()).isEqualTo("Too many authentication requests, try again later.");
+
+        MockHttpServletResponse timedOut = new MockHttpServletResponse();
+        entryPoint.commence(new MockHttpServletRequest(), timedOut,
+                new PasswordHashingRejectedException("Authentication is temporarily unavailable.", false));
+        assertThat(timedOut.getStatus()).isEqualTo(503);
+        assertThat(timedOut.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    public void testKeepsBasicChallengeForBadCredentials() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(new MockHttpServletRequest(), response, new BadCredentialsException("Bad credentials"));
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Basic realm=\"Realm\"");
+    }
+}
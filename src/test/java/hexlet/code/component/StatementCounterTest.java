@@ -0,0 +1,41 @@
+package hexlet.code.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class StatementCounterTest {
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testCountsStatementsOfEveryOpenScope() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        try (StatementCounter.Scope outer = statementCounter.open()) {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            try (StatementCounter.Scope inner = statementCounter.open()) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                assertThat(inner.getStatements()).isEqualTo(2);
+            }
+            assertThat(outer.getStatements()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void testStopsCountingWhenScopeIsClosed() {
+        StatementCounter.Scope scope = statementCounter.open();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        scope.close();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertThat(scope.getStatements()).isEqualTo(1);
+    }
+}
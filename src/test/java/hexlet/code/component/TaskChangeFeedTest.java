@@ -0,0 +1,193 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskChangeFeedTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskChangeFeed feed;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        feed.destroy();
+    }
+
+    @Test
+    public void testFilterDecidesEventType() throws Exception {
+        feed = feed(16, Duration.ofMinutes(1));
+        release.countDown();
+        TaskParamDTO filter = new TaskParamDTO();
+        filter.setStatus("to_review");
+        filter.setTitleCont("REPORT");
+        RecordingEmitter emitter = new RecordingEmitter(false);
+        feed.subscribe(filter, emitter);
+
+        TaskDTO draft = task(1L, "Weekly report", "draft", Set.of());
+        TaskDTO review = task(1L, "Weekly report", "to_review", Set.of());
+        TaskDTO renamed = task(1L, "Weekly report v2", "to_review", Set.of(5L));
+        TaskDTO other = task(2L, "Release notes", "to_review", Set.of());
+        feed.onTaskChanged(new TaskChangedEvent(null, draft));
+        feed.onTaskChanged(new TaskChangedEvent(null, other));
+        feed.onTaskChanged(new TaskChangedEvent(draft, review));
+        feed.onTaskChanged(new TaskChangedEvent(review, renamed));
+        feed.onTaskChanged(new TaskChangedEvent(renamed, null));
+        feed.onTasksBulkChanged(new TasksBulkChangedEvent(List.of(1L, 2L)));
+
+        assertThat(emitter.awaitEvents(5)).containsExactly(
+                "connected", "created", "updated", "deleted", "resync");
+        assertThat(emitter.events.get(4)).contains("bulk");
+    }
+
+    @Test
+    public void testSlowSubscriberIsDroppedWithResync() throws Exception {
+        feed = feed(2, Duration.ofMinutes(1));
+        RecordingEmitter slow = new RecordingEmitter(true);
+        feed.subscribe(new TaskParamDTO(), slow);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (long id = 1; id <= 4; id++) {
+            feed.onTaskChanged(new TaskChangedEvent(null, task(id, "Task " + id, "draft", Set.of())));
+        }
+        release.countDown();
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.names()).containsExactly("connected", "resync");
+        assertThat(slow.events.get(1)).contains("overflow");
+        assertThat(feed.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStalledSubscriberDoesNotHoldBackOthers() throws Exception {
+        feed = feed(16, Duration.ofMillis(200));
+        RecordingEmitter stalled = new RecordingEmitter(true);
+        RecordingEmitter healthy = new RecordingEmitter(false);
+        feed.subscribe(new TaskParamDTO(), stalled);
+        feed.subscribe(new TaskParamDTO(), healthy);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (long id = 1; id <= 5; id++) {
+            feed.onTaskChanged(new TaskChangedEvent(null, task(id, "Task " + id, "draft", Set.of())));
+        }
+
+        assertThat(healthy.awaitEvents(6)).containsExactly(
+                "connected", "created", "created", "created", "created", "created");
+        awaitSubscribers(1);
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isEqualTo(1);
+        assertThat(stalled.completed.getCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stalled.names()).containsExactly("connected");
+    }
+
+    @Test
+    public void testSubscriberIsDroppedWhenSendersAreExhausted() throws Exception {
+        feed = new TaskChangeFeed(meterRegistry, 16, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                Duration.ofMinutes(1), 1, 1);
+        RecordingEmitter stalled = new RecordingEmitter(true);
+        RecordingEmitter queued = new RecordingEmitter(false);
+        RecordingEmitter rejected = new RecordingEmitter(false);
+        feed.subscribe(new TaskParamDTO(), stalled);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        feed.subscribe(new TaskParamDTO(), queued);
+        feed.subscribe(new TaskParamDTO(), rejected);
+
+        assertThat(rejected.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(rejected.events).isEmpty();
+        assertThat(feed.subscriberCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(queued.awaitEvents(1)).containsExactly("connected");
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (feed.subscriberCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(feed.subscriberCount()).isEqualTo(expected);
+    }
+
+    private TaskChangeFeed feed(int bufferSize, Duration sendTimeout) {
+        return new TaskChangeFeed(meterRegistry, bufferSize, Duration.ofMinutes(1), Duration.ofMinutes(1), sendTimeout,
+                4, 64);
+    }
+
+    private static TaskDTO task(Long id, String title, String status, Set<Long> labelIds) {
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setTaskLabelIds(labelIds);
+        return task;
+    }
+
+    private final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final boolean blocking;
+
+        private RecordingEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private List<String> names() {
+            return events.stream()
+                    .map(event -> event.startsWith(":") ? event.substring(1).strip() : event.lines().findFirst()
+                            .orElseThrow().substring("event:".length()))
+                    .toList();
+        }
+
+        private List<String> awaitEvents(int expected) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < expected && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return names();
+        }
+    }
+}
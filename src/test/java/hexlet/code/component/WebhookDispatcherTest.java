@@ -0,0 +1,219 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.OutboxEventRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import hexlet.code.util.ModelGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class WebhookDispatcherTest {
+    private static final List<JsonNode> RECEIVED = new CopyOnWriteArrayList<>();
+    private static final Queue<Integer> RESPONSES = new ConcurrentLinkedQueue<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HttpServer RECEIVER = startReceiver();
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private WebhookDispatcher webhookDispatcher;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ModelGenerator modelGenerator;
+    @Autowired
+    private WebhookOutbox webhookOutbox;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private TaskStatus taskStatus;
+
+    @DynamicPropertySource
+    static void webhookProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.webhooks.endpoints",
+                () -> "http://localhost:" + RECEIVER.getAddress().getPort() + "/hooks/tasks");
+        registry.add("app.webhooks.poll-interval", () -> "50ms");
+        registry.add("app.webhooks.initial-backoff", () -> "100ms");
+        registry.add("app.webhooks.max-backoff", () -> "1s");
+    }
+
+    @AfterAll
+    public static void stopReceiver() {
+        RECEIVER.stop(0);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        RECEIVED.clear();
+        RESPONSES.clear();
+        taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+    }
+
+    @Test
+    public void testDeliversCommittedTaskChanges() throws Exception {
+        TaskDTO first = taskService.createTask(task("First hooked task"));
+        TaskDTO second = taskService.createTask(task("Second hooked task"));
+        taskService.deleteTask(first.getId());
+
+        await(() -> events().size() >= 3);
+        List<JsonNode> events = events();
+        assertThat(events).extracting(event -> event.get("type").asText() + ":" + event.get("taskId").asLong())
+                .contains("task.created:" + first.getId(), "task.created:" + second.getId(),
+                        "task.deleted:" + first.getId());
+        assertThat(events).filteredOn(event -> event.get("type").asText().equals("task.created"))
+                .extracting(event -> event.get("data").get("title").asText())
+                .contains("First hooked task", "Second hooked task");
+        await(() -> outboxEventRepository.count() == 0);
+        assertThat(meterRegistry.get("webhooks.delivery").tag("outcome", "success").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    public void testRetriesFailedBatchWithBackoff() throws Exception {
+        RESPONSES.add(503);
+        TaskDTO task = taskService.createTask(task("Retried hooked task"));
+
+        await(() -> events().stream().filter(event -> event.get("taskId").asLong() == task.getId()).count() >= 2);
+        List<Long> ids = events().stream()
+                .filter(event -> event.get("taskId").asLong() == task.getId())
+                .map(event -> event.get("id").asLong())
+                .toList();
+        assertThat(ids.get(0)).isEqualTo(ids.get(1));
+        await(() -> outboxEventRepository.count() == 0);
+        assertThat(meterRegistry.get("webhooks.events").tag("outcome", "retried").counter().count())
+                .isPositive();
+        assertThat(webhookDispatcher.backoff(1)).isEqualTo(Duration.ofMillis(100));
+        assertThat(webhookDispatcher.backoff(3)).isEqualTo(Duration.ofMillis(400));
+        assertThat(webhookDispatcher.backoff(40)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void testRetryHoldsBackLaterEvents() throws Exception {
+        RESPONSES.add(503);
+        TaskDTO first = taskService.createTask(task("First ordered task"));
+        await(() -> taskIds().contains(first.getId()));
+        TaskDTO second = taskService.createTask(task("Second ordered task"));
+
+        await(() -> taskIds().contains(second.getId()));
+        assertThat(taskIds()).filteredOn(id -> id.equals(first.getId()) || id.equals(second.getId()))
+                .containsExactly(first.getId(), first.getId(), second.getId());
+    }
+
+    @Test
+    public void testPurgesEventsOfRemovedEndpoints() {
+        OutboxEvent orphaned = new OutboxEvent();
+        orphaned.setEndpoint("http://removed.example.com/hooks");
+        orphaned.setEventType("task.created");
+        orphaned.setPayload("{}");
+        orphaned.setCreatedAt(Instant.now());
+        orphaned.setNextAttemptAt(Instant.now().plus(Duration.ofHours(1)));
+        outboxEventRepository.save(orphaned);
+
+        webhookDispatcher.purgeRemovedEndpoints();
+        assertThat(outboxEventRepository.findById(orphaned.getId())).isEmpty();
+    }
+
+    @Test
+    public void testSplitsLargeBulkEventsIntoBoundedRows() throws Exception {
+        List<Long> taskIds = LongStream.rangeClosed(1_000_000_000_000L, 1_000_000_025_000L).boxed().toList();
+        transactionTemplate.executeWithoutResult(status ->
+                webhookOutbox.onTasksBulkChanged(new TasksBulkChangedEvent(taskIds)));
+
+        await(() -> bulkEvents().size() == 26);
+        assertThat(bulkEvents()).allSatisfy(event ->
+                assertThat(event.get("data").get("taskIds").size()).isLessThanOrEqualTo(WebhookOutbox.BULK_CHUNK_SIZE));
+        assertThat(bulkEvents().stream()
+                .flatMap(event -> StreamSupport.stream(event.get("data").get("taskIds").spliterator(), false))
+                .map(JsonNode::asLong)
+                .toList())
+                .containsExactlyInAnyOrderElementsOf(taskIds);
+    }
+
+    private static List<Long> taskIds() {
+        return events().stream()
+                .filter(event -> event.hasNonNull("taskId"))
+                .map(event -> event.get("taskId").asLong())
+                .toList();
+    }
+
+    private static List<JsonNode> bulkEvents() {
+        return events().stream()
+                .filter(event -> event.get("type").asText().equals("tasks.bulk_updated"))
+                .toList();
+    }
+
+    private TaskCreateDTO task(String title) {
+        TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle(title);
+        taskCreateDTO.setStatus(taskStatus.getSlug());
+        return taskCreateDTO;
+    }
+
+    private static List<JsonNode> events() {
+        List<JsonNode> events = new ArrayList<>();
+        RECEIVED.forEach(batch -> batch.forEach(events::add));
+        return events;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static HttpServer startReceiver() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/hooks/tasks", exchange -> {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                RECEIVED.add(MAPPER.readTree(body));
+                Integer status = RESPONSES.poll();
+                exchange.sendResponseHeaders(status == null ? 204 : status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.StatementCounter;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BoardControllerTest {
+    @Autowired
+    private ModelGenerator modelGenerator;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private StatementCounter statementCounter;
+    private MockMvc mockMvc;
+    private JwtRequestPostProcessor token;
+    private TaskStatus testTaskStatus;
+    private Label testLabel;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                .build();
+        token = jwt().jwt(builder -> builder.subject("hexlet@example.com"));
+
+        testTaskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(testTaskStatus);
+        testLabel = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(testLabel);
+
+        List<Task> tasks = Instancio.ofList(modelGenerator.getTask()).size(12).create();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setIndex(tasks.size() - i);
+            tasks.get(i).setTaskStatus(testTaskStatus);
+            tasks.get(i).setAssignee(null);
+            tasks.get(i).setLabels(i % 2 == 0 ? Set.of(testLabel) : Set.of());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    public void testBoardIsGroupedByStatusAndLimitedPerColumn() throws Exception {
+        Column column = findColumn(perform("limit", "5"));
+        assertThat(column.total()).isEqualTo(12);
+        assertThat(column.tasks()).extracting(Card::index).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testBoardAppliesTaskFilters() throws Exception {
+        Column column = findColumn(perform("labelId", String.valueOf(testLabel.getId())));
+        assertThat(column.total()).isEqualTo(6);
+        assertThat(column.tasks()).isNotEmpty().allSatisfy(task ->
+                assertThat(task.taskLabelIds()).containsExactly(testLabel.getId()));
+    }
+
+    @Test
+    public void testBoardRunsFixedNumberOfStatements() throws Exception {
+        try (StatementCounter.Scope scope = statementCounter.open()) {
+            perform("limit", "3");
+            assertThat(scope.getStatements()).isLessThanOrEqualTo(5);
+        }
+    }
+
+    private List<Column> perform(String... params) throws Exception {
+        var request = get("/api/board").with(token);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        String content = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(content, new TypeReference<>() { });
+    }
+
+    private Column findColumn(List<Column> board) {
+        return board.stream()
+                .filter(column -> testTaskStatus.getSlug().equals(column.status().slug()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private record Column(Status status, long total, List<Card> tasks) {
+    }
+
+    private record Status(String slug) {
+    }
+
+    private record Card(int index, Set<Long> taskLabelIds) {
+    }
+}
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +29,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
@@ -36,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -145,6 +148,91 @@ public class LabelControllerTest {
         assertThat(testLabel.getName()).isEqualTo(oldName + "newName");
     }
 
+    @Test
+    public void testUpdateLabelWithIfMatch() throws Exception {
+        String tag = mockMvc.perform(get("/api/labels/{id}", testLabel.getId()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+
+        String updatedTag = mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "first editor"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedTag).isNotEqualTo(tag);
+
+        mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "second editor"))))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(labelRepository.findById(testLabel.getId()).get().getName()).isEqualTo("first editor");
+
+        mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, updatedTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "second editor"))))
+                .andExpect(status().isOk());
+        assertThat(labelRepository.findById(testLabel.getId()).get().getName()).isEqualTo("second editor");
+    }
+
+    @Test
+    public void testPatchLabel() throws Exception {
+        String tag = mockMvc.perform(get("/api/labels/{id}", testLabel.getId()).with(token))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String body = mockMvc.perform(patch("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "patched label"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).node("name").isEqualTo("patched label");
+        assertThat(labelRepository.findById(testLabel.getId()).get().getName()).isEqualTo("patched label");
+        String cached = mockMvc.perform(get("/api/labels/{id}", testLabel.getId()).with(token))
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(cached).node("name").isEqualTo("patched label");
+
+        mockMvc.perform(patch("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "stale label"))))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", ""))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testConditionalGetFollowsLabelChanges() throws Exception {
+        String tag = mockMvc.perform(get("/api/labels").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        mockMvc.perform(get("/api/labels").with(token).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "conditional label"))))
+                .andExpect(status().isOk());
+        MvcResult changed = mockMvc.perform(get("/api/labels").with(token).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(tag);
+        assertThatJson(changed.getResponse().getContentAsString()).inPath("$[*].name").isArray()
+                .contains("conditional label");
+    }
+
     @Test
     public void testDeleteLabel() throws Exception {
         assertThat(labelRepository.existsById(testLabel.getId())).isEqualTo(true);
@@ -182,4 +270,51 @@ public class LabelControllerTest {
         mockMvc.perform(request).andExpect(status().isConflict()).andReturn();
         assertThat(labelRepository.findById(id).isPresent()).isTrue();
     }
+
+    @Test
+    public void testLabelChangesAreVisibleThroughCache() throws Exception {
+        TaskStatus dataTaskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(dataTaskStatus);
+        mockMvc.perform(get("/api/labels").with(token))
+                .andExpect(status().isOk());
+
+        HashMap<String, Object> task = new HashMap<>();
+        task.put("title", "Cached label task");
+        task.put("status", dataTaskStatus.getSlug());
+        task.put("taskLabelIds", Set.of(testLabel.getId()));
+        String created = mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(created).node("taskLabelIds").isArray().containsExactly(testLabel.getId());
+
+        HashMap<String, String> data = new HashMap<>();
+        data.put("name", testLabel.getName() + "Renamed");
+        mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+        String list = mockMvc.perform(get("/api/labels").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(list).contains(testLabel.getName() + "Renamed");
+
+        Label unused = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(unused);
+        mockMvc.perform(get("/api/labels/{id}", unused.getId()).with(token))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/labels/{id}", unused.getId()).with(token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/labels/{id}", unused.getId()).with(token))
+                .andExpect(status().isNotFound());
+        task.put("taskLabelIds", Set.of(unused.getId()));
+        mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -3,6 +3,7 @@ package hexlet.code.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.StatementCounter;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.mappers.TaskMapper;
 import hexlet.code.mappers.TaskStatusMapper;
@@ -10,10 +11,13 @@ import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.repository.ColumnUpdateRepository;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskSearchIndex;
 import hexlet.code.util.ModelGenerator;
 import jakarta.transaction.Transactional;
 import org.instancio.Instancio;
@@ -22,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors
  .JwtRequestPostProcessor;
@@ -29,22 +34,32 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -70,6 +85,14 @@ public class TaskControllerTest {
     private LabelRepository labelRepository;
     @Autowired
     private WebApplicationContext wac;
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ColumnUpdateRepository columnUpdateRepository;
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
     private JwtRequestPostProcessor token;
     private User testUser;
     private TaskStatus testTaskStatus;
@@ -182,6 +205,313 @@ public class TaskControllerTest {
     }
 
 
+    @Test
+    public void testCreateTasksInBatch() throws Exception {
+        long countBeforeCreateTasks = taskRepository.count();
+        List<TaskCreateDTO> taskCreateDTOs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+            taskCreateDTO.setTitle("Imported task " + i);
+            taskCreateDTO.setIndex(i);
+            taskCreateDTO.setStatus(testTaskStatus.getSlug());
+            taskCreateDTO.setAssigneeId(testUser.getId());
+            taskCreateDTO.setTaskLabelIds(Set.of(testLabel.getId()));
+            taskCreateDTOs.add(taskCreateDTO);
+        }
+        taskCreateDTOs.get(1).setStatus("missing_status");
+        taskCreateDTOs.get(2).setTaskLabelIds(Set.of(testLabel.getId() + 1000));
+        taskCreateDTOs.get(3).setTitle("");
+        taskCreateDTOs.get(4).setAssigneeId(testUser.getId() + 1000);
+
+        String content;
+        long statements;
+        try (StatementCounter.Scope scope = statementCounter.open()) {
+            content = mockMvc.perform(post("/api/tasks/batch")
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskCreateDTOs)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            statements = scope.getStatements();
+        }
+
+        List<Map<String, Object>> results = objectMapper.readValue(content,
+                new TypeReference<List<Map<String, Object>>>() { });
+        assertThat(results).hasSize(300);
+        assertThat(results.subList(1, 5)).allSatisfy(result -> {
+            assertThat(result.get("success")).isEqualTo(false);
+            assertThat(result.get("error")).isNotNull();
+        });
+        assertThat(results.get(1).get("error").toString()).contains("missing_status");
+        assertThat(results.get(0).get("success")).isEqualTo(true);
+        assertThatJson(results.get(0).get("task")).and(
+                jsonAssert -> jsonAssert.node("title").isEqualTo("Imported task 0"),
+                jsonAssert -> jsonAssert.node("assignee_id").isEqualTo(testUser.getId()),
+                jsonAssert -> jsonAssert.node("taskLabelIds").isArray().containsExactly(testLabel.getId()));
+        assertThat(results.stream().filter(result -> Boolean.TRUE.equals(result.get("success")))).hasSize(296);
+        assertThat(taskRepository.count() - countBeforeCreateTasks).isEqualTo(296);
+        assertThat(statements).isLessThan(40);
+
+        Long id = Long.valueOf(((Map<?, ?>) results.get(299).get("task")).get("id").toString());
+        Task task = taskRepository.findTaskWithLabels(id);
+        assertThat(task.getName()).isEqualTo("Imported task 299");
+        assertThat(task.getLabels()).containsExactly(testLabel);
+    }
+
+    @Test
+    public void testBatchReportsNullAndOversizedItems() throws Exception {
+        long countBeforeCreateTasks = taskRepository.count();
+        TaskCreateDTO valid = new TaskCreateDTO();
+        valid.setTitle("Batch survivor");
+        valid.setStatus(testTaskStatus.getSlug());
+        TaskCreateDTO oversized = new TaskCreateDTO();
+        oversized.setTitle("Oversized batch task");
+        oversized.setContent("x".repeat(256));
+        oversized.setStatus(testTaskStatus.getSlug());
+        List<TaskCreateDTO> taskCreateDTOs = new ArrayList<>();
+        taskCreateDTOs.add(null);
+        taskCreateDTOs.add(oversized);
+        taskCreateDTOs.add(valid);
+
+        String content = mockMvc.perform(post("/api/tasks/batch")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTOs)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThatJson(content).and(
+                v -> v.node("[0].success").isEqualTo(false),
+                v -> v.node("[0].error").asString().contains("null"),
+                v -> v.node("[1].success").isEqualTo(false),
+                v -> v.node("[1].error").asString().contains("255"),
+                v -> v.node("[2].success").isEqualTo(true),
+                v -> v.node("[2].task.title").isEqualTo("Batch survivor"));
+        assertThat(taskRepository.count() - countBeforeCreateTasks).isEqualTo(1);
+    }
+
+    @Test
+    public void testCreateTooManyTasksInBatch() throws Exception {
+        List<TaskCreateDTO> taskCreateDTOs = new ArrayList<>();
+        for (int i = 0; i <= TaskBatchService.MAX_BATCH_SIZE; i++) {
+            taskCreateDTOs.add(new TaskCreateDTO());
+        }
+        mockMvc.perform(post("/api/tasks/batch")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTOs)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testPatchTasksInBulkByFilter() throws Exception {
+        TaskStatus sourceStatus = createTasksWithOwnAssignees(30);
+        TaskStatus targetStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(targetStatus);
+        Label extraLabel = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(extraLabel);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("filter", Map.of("status", sourceStatus.getSlug()));
+        data.put("status", targetStatus.getSlug());
+        data.put("assignee_id", testUser.getId());
+        data.put("addLabelIds", Set.of(extraLabel.getId(), testLabel.getId()));
+        data.put("removeLabelIds", Set.of(testLabel.getId()));
+        String content = mockMvc.perform(patch("/api/tasks/bulk")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(content).node("affected").isEqualTo(30);
+
+        String listing = mockMvc.perform(get("/api/tasks").param("status", targetStatus.getSlug()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Map<String, Object>> moved = objectMapper.readValue(listing,
+                new TypeReference<List<Map<String, Object>>>() { });
+        assertThat(moved).hasSize(30);
+        assertThat(moved).allSatisfy(task -> assertThatJson(task).and(
+                jsonAssert -> jsonAssert.node("assignee_id").isEqualTo(testUser.getId()),
+                jsonAssert -> jsonAssert.node("taskLabelIds").isArray().hasSize(3)
+                        .contains(extraLabel.getId(), testLabel.getId())));
+        mockMvc.perform(head("/api/tasks").param("status", targetStatus.getSlug()).with(token))
+                .andExpect(header().string("X-Total-Count", "30"));
+    }
+
+    @Test
+    public void testPatchTasksInBulkByIds() throws Exception {
+        String data = String.format("{\"ids\": [%d], \"assignee_id\": null, \"removeLabelIds\": [%d]}",
+                testTask.getId(), testLabel.getId());
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(data))
+                .andExpect(status().isOk())
+                .andExpect(content -> assertThatJson(content.getResponse().getContentAsString())
+                        .node("affected").isEqualTo(1));
+        Task task = taskRepository.findById(testTask.getId()).get();
+        assertThat(task.getAssignee()).isNull();
+        assertThat(task.getLabels()).isEmpty();
+        assertThat(task.getTaskStatus().getId()).isEqualTo(testTaskStatus.getId());
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", Set.of(testTask.getId())))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "missing_status",
+                                "ids", Set.of(testTask.getId())))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testConditionalGetFollowsFilteredTaskChanges() throws Exception {
+        String tag = mockMvc.perform(get("/api/tasks").param("status", testTaskStatus.getSlug()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", testTaskStatus.getSlug())
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Conditional title"))))
+                .andExpect(status().isOk());
+        MvcResult changed = mockMvc.perform(get("/api/tasks")
+                        .param("status", testTaskStatus.getSlug())
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(tag);
+        assertThatJson(changed.getResponse().getContentAsString()).inPath("$[*].title").isArray()
+                .contains("Conditional title");
+    }
+
+    @Test
+    public void testConditionalGetOfPageFollowsPageRows() throws Exception {
+        MvcResult page = mockMvc.perform(get("/api/tasks").param("limit", "1").with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String tag = page.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        mockMvc.perform(get("/api/tasks")
+                        .param("limit", "1")
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        Long id = objectMapper.readTree(page.getResponse().getContentAsString()).get(0).get("id").asLong();
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Paged title"))))
+                .andExpect(status().isOk());
+        MvcResult changed = mockMvc.perform(get("/api/tasks")
+                        .param("limit", "1")
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(tag);
+        assertThatJson(changed.getResponse().getContentAsString()).inPath("$[0].title").isEqualTo("Paged title");
+    }
+
+    @Test
+    public void testBulkPatchChangesTaskListValidators() throws Exception {
+        Label extraLabel = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(extraLabel);
+        String tag = mockMvc.perform(get("/api/tasks").param("status", testTaskStatus.getSlug()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "ids", Set.of(testTask.getId()),
+                                "addLabelIds", Set.of(extraLabel.getId())))))
+                .andExpect(status().isOk());
+        MvcResult changed = mockMvc.perform(get("/api/tasks")
+                        .param("status", testTaskStatus.getSlug())
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(tag);
+        assertThatJson(changed.getResponse().getContentAsString())
+                .inPath("$[?(@.id == " + testTask.getId() + ")].taskLabelIds[*]").isArray()
+                .contains(extraLabel.getId());
+    }
+
+    @Test
+    public void testWritesReturnTagOfWrittenVersion() throws Exception {
+        String putTag = mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("content", "Tagged content"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId()).with(token).header(HttpHeaders.IF_NONE_MATCH, putTag))
+                .andExpect(status().isNotModified());
+
+        String patchTag = mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Tagged title"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(patchTag).isNotEqualTo(putTag);
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, patchTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testPatchReturnsRowAfterConcurrentWrite() throws Exception {
+        List<CompletableFuture<MvcResult>> patched = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            columnUpdateRepository.update(Task.class, testTask.getId(), null,
+                    Map.of("description", "Concurrent content"));
+            patched.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                                    .with(token)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(Map.of("title", "Patched title"))))
+                            .andReturn();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        MvcResult result = patched.get(0).get(10, TimeUnit.SECONDS);
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThatJson(result.getResponse().getContentAsString()).and(
+                v -> v.node("title").isEqualTo("Patched title"),
+                v -> v.node("content").isEqualTo("Concurrent content"));
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     public void testUpdateTask() throws Exception {
         String oldName = testTask.getName();
@@ -209,6 +539,93 @@ public class TaskControllerTest {
         assertThat(testTask.getLabels().containsAll(Set.of(label, newLabel))).isEqualTo(true);
     }
 
+    @Test
+    public void testUpdateTaskWithStaleIfMatch() throws Exception {
+        String tag = mockMvc.perform(get("/api/tasks/{id}", testTask.getId()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("index", 101))))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("index", 202))))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskRepository.findById(testTask.getId()).get().getIndex()).isEqualTo(101);
+
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, "W/" + tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("index", 202))))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("index", 202))))
+                .andExpect(status().isOk());
+        assertThat(taskRepository.findById(testTask.getId()).get().getIndex()).isEqualTo(202);
+    }
+
+    @Test
+    public void testPatchTaskWritesOnlyPresentFields() throws Exception {
+        Label newLabel = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(newLabel);
+        String body = mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "Patched title",
+                                "taskLabelIds", Set.of(newLabel.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).and(
+                v -> v.node("title").isEqualTo("Patched title"),
+                v -> v.node("content").isEqualTo(testTask.getDescription()),
+                v -> v.node("status").isEqualTo(testTaskStatus.getSlug()),
+                v -> v.node("assignee_id").isEqualTo(testUser.getId()),
+                v -> v.node("taskLabelIds").isArray().containsExactly(newLabel.getId()));
+
+        Task task = taskRepository.findTaskWithLabels(testTask.getId());
+        assertThat(task.getName()).isEqualTo("Patched title");
+        assertThat(task.getDescription()).isEqualTo(testTask.getDescription());
+        assertThat(task.getIndex()).isEqualTo(testTask.getIndex());
+        assertThat(task.getLabels()).containsExactly(newLabel);
+        assertThat(task.getVersion()).isGreaterThan(testTask.getVersion());
+        assertThat(findIdsByTitleCont("Patched title")).containsExactly(testTask.getId());
+
+        try (StatementCounter.Scope scope = statementCounter.open()) {
+            mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("index", 7))))
+                    .andExpect(status().isOk());
+            assertThat(scope.getStatements()).isLessThanOrEqualTo(4);
+        }
+        assertThat(taskRepository.findTaskWithLabels(testTask.getId()).getLabels()).containsExactly(newLabel);
+
+        mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "no_such_status"))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/tasks/{id}", testTask.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("index", 8))))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskRepository.findById(testTask.getId()).get().getIndex()).isEqualTo(7);
+    }
+
     @Test
     public void testDeleteTask() throws Exception {
         assertThat(taskRepository.existsById(testTask.getId())).isEqualTo(true);
@@ -308,4 +725,301 @@ public class TaskControllerTest {
                 .isArray()
                 .containsOnly(taskStatus.getSlug());
     }
+
+    @Test
+    public void testTaskFilterByTitleCont() throws Exception {
+        String marker = "mark" + UUID.randomUUID().toString().substring(0, 8);
+        long inTitle = createTask("Repair " + marker.toUpperCase() + " page", "Some content");
+        long inContent = createTask("Unrelated", "Mentions the " + marker + " flow");
+        long other = createTask("Something else", "Nothing to see");
+
+        assertThat(findIdsByTitleCont(marker)).containsExactlyInAnyOrder(inTitle, inContent);
+        assertThat(findIdsByTitleCont(marker.toUpperCase() + " PAGE")).containsExactly(inTitle);
+        assertThat(findIdsByTitleCont(marker + " missing")).isEmpty();
+
+        HashMap<String, Object> data = new HashMap<>();
+        data.put("title", "Now about " + marker);
+        mockMvc.perform(put("/api/tasks/{id}", other)
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/{id}", inContent).with(token))
+                .andExpect(status().isNoContent());
+
+        assertThat(findIdsByTitleCont(marker)).containsExactlyInAnyOrder(inTitle, other);
+    }
+
+    @Test
+    public void testSearchIndexRepairsDrift() throws Exception {
+        String marker = "drift" + UUID.randomUUID().toString().substring(0, 8);
+        Task unindexed = Instancio.of(modelGenerator.getTask()).create();
+        unindexed.setName("Written around the " + marker + " service");
+        unindexed.setTaskStatus(testTaskStatus);
+        taskRepository.save(unindexed);
+        assertThat(findIdsByTitleCont(marker)).isEmpty();
+
+        taskSearchIndex.repair();
+        assertThat(findIdsByTitleCont(marker)).containsExactly(unindexed.getId());
+    }
+
+    private long createTask(String title, String content) throws Exception {
+        TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle(title);
+        taskCreateDTO.setContent(content);
+        taskCreateDTO.setStatus(testTaskStatus.getSlug());
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTO)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private List<Long> findIdsByTitleCont(String titleCont) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .param("titleCont", titleCont)
+                        .with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<Map<String, Object>> tasks = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<Map<String, Object>>>() { });
+        return tasks.stream()
+                .map(task -> ((Number) task.get("id")).longValue())
+                .toList();
+    }
+
+    @Test
+    public void testStreamTasks() throws Exception {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        List<Task> tasks = Instancio.ofList(modelGenerator.getTask()).size(3).create();
+        tasks.forEach(task -> {
+            task.setTaskStatus(taskStatus);
+            task.setLabels(Set.of(testLabel));
+        });
+        taskRepository.saveAll(tasks);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .param("stream", "true")
+                        .param("status", taskStatus.getSlug())
+                        .with(token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        String content = result.getResponse().getContentAsString();
+
+        assertThatJson(content).isArray().hasSize(3);
+        assertThatJson(content)
+                .inPath("$[*].title")
+                .isArray()
+                .containsExactlyInAnyOrderElementsOf(tasks.stream().map(Task::getName).toList());
+        assertThatJson(content)
+                .inPath("$[*].taskLabelIds")
+                .isArray()
+                .containsOnly(List.of(testLabel.getId()));
+    }
+
+    @Test
+    public void testStreamTaskChanges() throws Exception {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream")
+                        .param("status", taskStatus.getSlug())
+                        .with(token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        TaskCreateDTO streamed = new TaskCreateDTO();
+        streamed.setTitle("Streamed task");
+        streamed.setStatus(taskStatus.getSlug());
+        TaskCreateDTO hidden = new TaskCreateDTO();
+        hidden.setTitle("Hidden task");
+        hidden.setStatus(testTaskStatus.getSlug());
+        String body = mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(streamed)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readTree(body).get("id").asLong();
+        mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(hidden)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("index", 3))))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", testTaskStatus.getSlug()))))
+                .andExpect(status().isOk());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains("event:deleted")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        String content = result.getResponse().getContentAsString();
+        assertThat(content).containsSubsequence("event:created", "event:updated", "event:deleted");
+        assertThat(content).contains("Streamed task").doesNotContain("Hidden task");
+    }
+
+    @Test
+    public void testCountTasks() throws Exception {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        List<Task> tasks = Instancio.ofList(modelGenerator.getTask()).size(2).create();
+        tasks.forEach(task -> task.setTaskStatus(taskStatus));
+        taskRepository.saveAll(tasks);
+
+        MockHttpServletRequestBuilder request = head("/api/tasks")
+                .param("status", taskStatus.getSlug())
+                .with(token);
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"));
+
+        TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle("counted");
+        taskCreateDTO.setStatus(taskStatus.getSlug());
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTO)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(request)
+                .andExpect(header().string("X-Total-Count", "3"));
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", taskStatus.getSlug())
+                        .param("limit", "1")
+                        .with(token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(header().exists("X-Next-Cursor"));
+
+        mockMvc.perform(delete("/api/tasks/{id}", id).with(token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(request)
+                .andExpect(header().string("X-Total-Count", "2"));
+    }
+
+    @Test
+    public void testTaskPagination() throws Exception {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Task task = Instancio.of(modelGenerator.getTask()).create();
+            task.setTaskStatus(taskStatus);
+            task.setIndex(5 - i);
+            taskRepository.save(task);
+            expectedIds.add(0, task.getId());
+        }
+
+        List<Long> actualIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/tasks")
+                    .param("status", taskStatus.getSlug())
+                    .param("sort", "index")
+                    .param("limit", "2")
+                    .with(token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String content = result.getResponse().getContentAsString();
+            List<Map<String, Object>> page = objectMapper.readValue(content,
+                    new TypeReference<List<Map<String, Object>>>() { });
+            assertThat(page.size()).isLessThanOrEqualTo(2);
+            page.forEach(task -> actualIds.add(((Number) task.get("id")).longValue()));
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        assertThat(actualIds).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    public void testTaskPaginationWithWrongCursor() throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks")
+                .param("limit", "2")
+                .param("cursor", "wrong")
+                .with(token);
+        mockMvc.perform(request)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testShowAllTasksStatementCountDoesNotGrowWithTasks() throws Exception {
+        TaskStatus smallStatus = createTasksWithOwnAssignees(10);
+        TaskStatus largeStatus = createTasksWithOwnAssignees(1000);
+
+        long smallListing = countListingStatements(smallStatus, 10);
+        long largeListing = countListingStatements(largeStatus, 1000);
+        assertThat(largeListing).isEqualTo(smallListing);
+
+        long smallPage = countListingStatements(smallStatus, 10, "limit", "1000");
+        long largePage = countListingStatements(largeStatus, 1000, "limit", "1000");
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    public void testShowFiveHundredTasksWithinStatementBudget() throws Exception {
+        TaskStatus taskStatus = createTasksWithOwnAssignees(500);
+
+        assertThat(countListingStatements(taskStatus, 500)).isLessThanOrEqualTo(3);
+    }
+
+    private TaskStatus createTasksWithOwnAssignees(int count) {
+        TaskStatus taskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(taskStatus);
+        Label secondLabel = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(secondLabel);
+
+        List<User> assignees = Instancio.ofList(modelGenerator.getUserModel()).size(count).create();
+        userRepository.saveAll(assignees);
+        List<Task> tasks = Instancio.ofList(modelGenerator.getTask()).size(count).create();
+        for (int i = 0; i < count; i++) {
+            tasks.get(i).setTaskStatus(taskStatus);
+            tasks.get(i).setAssignee(assignees.get(i));
+            tasks.get(i).setLabels(Set.of(testLabel, secondLabel));
+        }
+        taskRepository.saveAll(tasks);
+        return taskStatus;
+    }
+
+    private long countListingStatements(TaskStatus taskStatus, int expectedSize, String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks")
+                .param("status", taskStatus.getSlug())
+                .param("labelId", String.valueOf(testLabel.getId()))
+                .with(token);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        try (StatementCounter.Scope scope = statementCounter.open()) {
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String content = result.getResponse().getContentAsString();
+            List<Map<String, Object>> tasks = objectMapper.readValue(content,
+                    new TypeReference<List<Map<String, Object>>>() { });
+            assertThat(tasks).hasSize(expectedSize);
+            assertThat(tasks).allSatisfy(task -> {
+                assertThat(task.get("assignee_id")).isNotNull();
+                assertThat((List<?>) task.get("taskLabelIds")).hasSize(2);
+            });
+            return scope.getStatements();
+        }
+    }
 }
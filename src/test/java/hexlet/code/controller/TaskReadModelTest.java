@@ -0,0 +1,239 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.TaskView;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskViewRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskViewService;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors
+        .JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.tasks.read-model.enabled=true")
+@AutoConfigureMockMvc
+public class TaskReadModelTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ModelGenerator modelGenerator;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskViewRepository taskViewRepository;
+    @Autowired
+    private TaskViewService taskViewService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private JwtRequestPostProcessor token;
+    private User testUser;
+    private TaskStatus testTaskStatus;
+    private Label testLabel;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+        token = jwt().jwt(builder -> builder.subject(testUser.getEmail()));
+        testTaskStatus = Instancio.of(modelGenerator.getTaskStatus()).create();
+        taskStatusRepository.save(testTaskStatus);
+        testLabel = Instancio.of(modelGenerator.getLabel()).create();
+        labelRepository.save(testLabel);
+    }
+
+    @Test
+    public void testListsTasksFromReadModel() throws Exception {
+        Long labelled = createTask("Labelled view task", testUser.getId(), Set.of(testLabel.getId()));
+        Long plain = createTask("Plain view task", null, Set.of());
+
+        TaskView view = taskViewRepository.findById(labelled).orElseThrow();
+        assertThat(view.getStatus()).isEqualTo(testTaskStatus.getSlug());
+        assertThat(view.getAssigneeName()).isEqualTo(testUser.getFirstName() + " " + testUser.getLastName());
+        assertThat(taskViewRepository.findLabelIds(labelled)).containsExactly(testLabel.getId());
+
+        String body = mockMvc.perform(get("/api/tasks")
+                        .param("status", testTaskStatus.getSlug())
+                        .param("labelId", String.valueOf(testLabel.getId()))
+                        .param("assigneeId", String.valueOf(testUser.getId()))
+                        .with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).isArray().hasSize(1);
+        assertThatJson(body).inPath("$[0]").and(
+                v -> v.node("id").isEqualTo(labelled),
+                v -> v.node("taskLabelIds").isArray().containsExactly(testLabel.getId()));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", testTaskStatus.getSlug())
+                        .param("limit", "1")
+                        .param("sort", "index")
+                        .with(token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"));
+        String titled = mockMvc.perform(get("/api/tasks").param("titleCont", "PLAIN VIEW").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(titled).inPath("$[*].id").isArray().containsExactly(plain);
+    }
+
+    @Test
+    public void testTitleContMatchesTitleOrContent() throws Exception {
+        Long titled = createTask("Quarterly viewmarker review", null, Set.of());
+        Long described = createTask("Unrelated view task", null, Set.of());
+        mockMvc.perform(patch("/api/tasks/{id}", described)
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("content", "Follows the VIEWMARKER"))))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/tasks").param("titleCont", "viewMarker").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).inPath("$[*].id").isArray().containsExactlyInAnyOrder(titled, described);
+    }
+
+    @Test
+    public void testFollowsTaskStatusAndUserWrites() throws Exception {
+        Long id = createTask("Followed view task", null, Set.of(testLabel.getId()));
+
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "assignee_id", testUser.getId(),
+                                "taskLabelIds", Set.of()))))
+                .andExpect(status().isOk());
+        TaskView view = taskViewRepository.findById(id).orElseThrow();
+        assertThat(view.getAssigneeId()).isEqualTo(testUser.getId());
+        assertThat(taskViewRepository.findLabelIds(id)).isEmpty();
+
+        String slug = testTaskStatus.getSlug() + "_renamed";
+        mockMvc.perform(put("/api/task_statuses/{id}", testTaskStatus.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("slug", slug))))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/users/{id}", testUser.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("firstName", "Renamed"))))
+                .andExpect(status().isOk());
+
+        view = taskViewRepository.findById(id).orElseThrow();
+        assertThat(view.getStatus()).isEqualTo(slug);
+        assertThat(view.getAssigneeName()).isEqualTo("Renamed " + testUser.getLastName());
+        String body = mockMvc.perform(get("/api/tasks").param("status", slug).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).inPath("$[*].id").isArray().containsExactly(id);
+    }
+
+    @Test
+    public void testRebuildRecoversDrift() throws Exception {
+        Task task = Instancio.of(modelGenerator.getTask()).create();
+        task.setTaskStatus(testTaskStatus);
+        task.setLabels(Set.of(testLabel));
+        taskRepository.save(task);
+        assertThat(taskViewRepository.existsById(task.getId())).isFalse();
+
+        String state = mockMvc.perform(get("/actuator/taskview").with(httpBasic("prometheus", "prometheus")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(state).node("serving").isEqualTo(true);
+        mockMvc.perform(post("/actuator/taskview").with(token))
+                .andExpect(status().isForbidden());
+        String body = mockMvc.perform(post("/actuator/taskview").with(httpBasic("prometheus", "prometheus")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).node("tasks").isEqualTo(taskRepository.count());
+        assertThat(taskViewRepository.findLabelIds(task.getId())).containsExactly(testLabel.getId());
+
+        String tasks = mockMvc.perform(get("/api/tasks")
+                        .param("status", testTaskStatus.getSlug())
+                        .with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(tasks).inPath("$[*].id").isArray().containsExactly(task.getId());
+    }
+
+    @Test
+    public void testRebuildWaitsForViewWrites() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskViewService.renameAssignee(testUser.getId(), "Fenced", "Writer");
+                    written.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(taskViewService::rebuild);
+        Thread.sleep(200);
+        assertThat(rebuild).isNotDone();
+
+        release.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        assertThat(rebuild.get(10, TimeUnit.SECONDS)).isEqualTo((int) taskRepository.count());
+    }
+
+    private Long createTask(String title, Long assigneeId, Set<Long> labelIds) throws Exception {
+        TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle(title);
+        taskCreateDTO.setStatus(testTaskStatus.getSlug());
+        taskCreateDTO.setAssigneeId(assigneeId);
+        taskCreateDTO.setTaskLabelIds(labelIds);
+        String body = mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 import org.springframework.test.web.servlet.MockMvc;
@@ -163,4 +164,104 @@ public class TaskStatusControllerTest {
                 .andExpect(status().isConflict()).andReturn();
         assertThat(taskStatusRepository.existsById(testTaskStatus.getId())).isEqualTo(true);
     }
+
+    @Test
+    public void testTaskStatusChangesAreVisibleThroughCache() throws Exception {
+        mockMvc.perform(get("/api/task_statuses/{id}", testTaskStatus.getId()).with(token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/task_statuses").with(token))
+                .andExpect(status().isOk());
+
+        HashMap<String, String> data = new HashMap<>();
+        data.put("slug", "cached_slug_updated");
+        mockMvc.perform(put("/api/task_statuses/{id}", testTaskStatus.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+
+        String item = mockMvc.perform(get("/api/task_statuses/{id}", testTaskStatus.getId()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(item).node("slug").isEqualTo("cached_slug_updated");
+        String list = mockMvc.perform(get("/api/task_statuses").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(list).contains("cached_slug_updated");
+
+        HashMap<String, Object> task = new HashMap<>();
+        task.put("title", "Cached status task");
+        task.put("status", "cached_slug_updated");
+        mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(delete("/api/task_statuses/{id}", testTaskStatus.getId()).with(token))
+                .andExpect(status().isConflict());
+        taskRepository.deleteAll(taskRepository.findAll().stream()
+                .filter(t -> t.getTaskStatus().getId().equals(testTaskStatus.getId()))
+                .toList());
+        mockMvc.perform(delete("/api/task_statuses/{id}", testTaskStatus.getId()).with(token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/task_statuses/{id}", testTaskStatus.getId()).with(token))
+                .andExpect(status().isNotFound());
+        list = mockMvc.perform(get("/api/task_statuses").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(list).doesNotContain("cached_slug_updated");
+    }
+
+    @Test
+    public void testConditionalGetFollowsStatusChanges() throws Exception {
+        String statusesTag = mockMvc.perform(get("/api/task_statuses").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(statusesTag);
+        mockMvc.perform(get("/api/task_statuses").with(token).header(HttpHeaders.IF_NONE_MATCH, statusesTag))
+                .andExpect(status().isNotModified());
+
+        HashMap<String, Object> task = new HashMap<>();
+        task.put("title", "Conditional task");
+        task.put("status", testTaskStatus.getSlug());
+        String created = mockMvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(created).get("id").asLong();
+
+        MvcResult first = mockMvc.perform(get("/api/tasks/{id}", taskId).with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String taskTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(taskTag);
+        assertNotNull(first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+        MvcResult cached = mockMvc.perform(get("/api/tasks/{id}", taskId)
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, taskTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(cached.getResponse().getContentAsString()).isEmpty();
+
+        HashMap<String, Object> data = new HashMap<>();
+        data.put("slug", "conditional_slug");
+        mockMvc.perform(put("/api/task_statuses/{id}", testTaskStatus.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/tasks/{id}", taskId)
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, taskTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).node("status").isEqualTo("conditional_slug");
+        mockMvc.perform(get("/api/task_statuses").with(token).header(HttpHeaders.IF_NONE_MATCH, statusesTag))
+                .andExpect(status().isOk());
+        taskRepository.deleteById(taskId);
+    }
 }
@@ -1,10 +1,12 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.AuthRequest;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.repository.ColumnUpdateRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
@@ -14,7 +16,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,10 +39,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -55,6 +67,12 @@ public class UserControllerTest {
     private ObjectMapper objectMapper;
     @Autowired
     private WebApplicationContext wac;
+    @Autowired
+    private JwtDecoder jwtDecoder;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ColumnUpdateRepository columnUpdateRepository;
     private User testUser;
     private JwtRequestPostProcessor token;
     private TaskStatus testTaskStatus;
@@ -134,6 +152,83 @@ public class UserControllerTest {
         assertThat(user.getLastName()).isEqualTo(oldUserLastName);
     }
 
+    @Test
+    public void testPatchUser() throws Exception {
+        HashMap<String, String> data = new HashMap<>();
+        data.put("lastName", "Patched");
+        String body = mockMvc.perform(patch("/api/users/{id}", testUser.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(body).node("lastName").isEqualTo("Patched");
+        assertThatJson(body).node("firstName").isEqualTo(testUser.getFirstName());
+        User user = userRepository.findById(testUser.getId()).get();
+        assertThat(user.getLastName()).isEqualTo("Patched");
+        assertThat(user.getFirstName()).isEqualTo(testUser.getFirstName());
+        assertThat(user.getEmail()).isEqualTo(testUser.getEmail());
+        assertThat(user.getPasswordDigest()).isEqualTo(testUser.getPasswordDigest());
+    }
+
+    @Test
+    public void testConditionalGetFollowsUserChanges() throws Exception {
+        String tag = mockMvc.perform(get("/api/users").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        mockMvc.perform(get("/api/users").with(token).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        HashMap<String, String> data = new HashMap<>();
+        data.put("lastName", "Conditional");
+        mockMvc.perform(patch("/api/users/{id}", testUser.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+        MvcResult changed = mockMvc.perform(get("/api/users").with(token).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(tag);
+        assertThatJson(changed.getResponse().getContentAsString()).inPath("$[*].lastName").isArray()
+                .contains("Conditional");
+    }
+
+    @Test
+    public void testPatchReturnsRowAfterConcurrentWrite() throws Exception {
+        List<CompletableFuture<MvcResult>> patched = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            columnUpdateRepository.update(User.class, testUser.getId(), null, Map.of("lastName", "Concurrent"));
+            patched.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(patch("/api/users/{id}", testUser.getId())
+                                    .with(token)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(Map.of("firstName", "Patched"))))
+                            .andReturn();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        MvcResult result = patched.get(0).get(10, TimeUnit.SECONDS);
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThatJson(result.getResponse().getContentAsString()).and(
+                v -> v.node("firstName").isEqualTo("Patched"),
+                v -> v.node("lastName").isEqualTo("Concurrent"));
+        mockMvc.perform(get("/api/users/{id}", testUser.getId())
+                        .with(token)
+                        .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     public void testDeleteUser() throws Exception {
         assertThat(userRepository.existsById(testUser.getId())).isEqualTo(true);
@@ -206,4 +301,84 @@ public class UserControllerTest {
         mockMvc.perform(request).andExpect(status().isConflict()).andReturn();
         assertThat(userRepository.existsById(testUser.getId())).isEqualTo(true);
     }
+
+    @Test
+    public void testLoginTokenCarriesUserId() throws Exception {
+        UserCreateDTO userCreateDTO = new UserCreateDTO();
+        userCreateDTO.setEmail("token.owner@example.com");
+        userCreateDTO.setPassword("secret");
+        mockMvc.perform(post("/api/users")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userCreateDTO)))
+                .andExpect(status().isCreated());
+        User user = userRepository.findByEmail(userCreateDTO.getEmail()).get();
+
+        AuthRequest authRequest = new AuthRequest();
+        authRequest.setUsername(userCreateDTO.getEmail());
+        authRequest.setPassword(userCreateDTO.getPassword());
+        String tokenValue = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Jwt jwt = jwtDecoder.decode(tokenValue);
+        assertThat(jwt.getSubject()).isEqualTo(user.getEmail());
+        assertThat(jwt.<Long>getClaim("uid")).isEqualTo(user.getId());
+
+        HashMap<String, String> data = new HashMap<>();
+        data.put("firstName", "Owner");
+        mockMvc.perform(put("/api/users/{id}", user.getId())
+                        .header("Authorization", "Bearer " + tokenValue)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testOwnershipCheckUsesUserIdClaim() throws Exception {
+        HashMap<String, String> data = new HashMap<>();
+        data.put("firstName", "NewName");
+        JwtRequestPostProcessor claimToken = jwt().jwt(builder -> builder
+                .subject("renamed@example.com")
+                .claim("uid", testUser.getId()));
+        mockMvc.perform(put("/api/users/{id}", testUser.getId())
+                        .with(claimToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+
+        JwtRequestPostProcessor foreignToken = jwt().jwt(builder -> builder
+                .subject(testUser.getEmail())
+                .claim("uid", testUser.getId() + 1));
+        mockMvc.perform(put("/api/users/{id}", testUser.getId())
+                        .with(foreignToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().is4xxClientError());
+        assertThat(userRepository.findById(testUser.getId()).get().getFirstName()).isEqualTo("NewName");
+    }
+
+    @Test
+    public void testPrincipalCacheIsEvictedOnUserChanges() throws Exception {
+        HashMap<String, String> data = new HashMap<>();
+        data.put("email", "moved." + testUser.getEmail());
+        mockMvc.perform(put("/api/users/{id}", testUser.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(token))
+                .andExpect(status().is4xxClientError());
+        assertThat(userRepository.existsById(testUser.getId())).isTrue();
+
+        JwtRequestPostProcessor movedToken = jwt().jwt(builder -> builder.subject("moved." + testUser.getEmail()));
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(movedToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(movedToken))
+                .andExpect(status().is4xxClientError());
+    }
 }
@@ -0,0 +1,297 @@
+package hexlet.code.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.TaskCounter;
+import hexlet.code.cache.TaskStatusCache;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskSearchIndex;
+import hexlet.code.util.ModelGenerator;
+import net.datafaker.Faker;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a realistic dataset and drives a mixed workload against every controller at a fixed arrival rate
+ * with token-authenticated clients. Configure it with {@code -Dload.rate}, {@code -Dload.duration},
+ * {@code -Dload.warmup}, {@code -Dload.tasks} and {@code -Dload.users}; point it at Postgres with the usual
+ * {@code -Dspring.datasource.*} properties.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+@Tag("load")
+public class ApiLoadTest {
+    private static final String PASSWORD = "load-test-password";
+    private static final int LABELS = 30;
+    private static final int MAX_LABELS_PER_TASK = 3;
+    private static final int MAX_IN_FLIGHT = 2_000;
+    private static final int PAGE_SIZE = 50;
+
+    private final int rate = Integer.getInteger("load.rate", 100);
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 15));
+    private final int taskCount = Integer.getInteger("load.tasks", 10_000);
+    private final int userCount = Integer.getInteger("load.users", 50);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ModelGenerator modelGenerator;
+    @Autowired
+    private Faker faker;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+    @Autowired
+    private LabelCache labelCache;
+    @Autowired
+    private TaskCounter taskCounter;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Random random = new Random(42);
+    private final AtomicLong sequence = new AtomicLong();
+    private List<User> users;
+    private List<String> tokens;
+    private List<String> slugs;
+    private List<Long> labelIds;
+    private List<Long> taskIds;
+    private List<Long> taskStatusIds;
+    private List<Operation> operations;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        String passwordDigest = passwordEncoder.encode(PASSWORD);
+        users = Instancio.ofList(modelGenerator.getUserModel()).size(userCount).create();
+        users.forEach(user -> user.setPasswordDigest(passwordDigest));
+        userRepository.saveAll(users);
+
+        List<TaskStatus> taskStatuses = taskStatusRepository.findAll();
+        slugs = taskStatuses.stream().map(TaskStatus::getSlug).toList();
+        taskStatusIds = taskStatuses.stream().map(TaskStatus::getId).toList();
+
+        List<Label> labels = labelRepository.saveAll(Instancio.ofList(modelGenerator.getLabel()).size(LABELS).create());
+        labelIds = labels.stream().map(Label::getId).toList();
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setName(faker.lorem().sentence(4));
+            task.setDescription(faker.lorem().sentence(12));
+            task.setIndex(i);
+            task.setTaskStatus(pick(taskStatuses));
+            task.setAssignee(random.nextInt(10) == 0 ? null : pick(users));
+            Set<Label> taskLabels = new HashSet<>();
+            for (int j = random.nextInt(MAX_LABELS_PER_TASK + 1); j > 0; j--) {
+                taskLabels.add(pick(labels));
+            }
+            task.setLabels(taskLabels);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        taskSearchIndex.indexNew(tasks);
+        taskIds = tasks.stream().map(Task::getId).toList();
+
+        taskStatusCache.evictAll();
+        labelCache.evictAll();
+        taskCounter.invalidateAll();
+
+        tokens = new ArrayList<>();
+        for (User user : users) {
+            HttpResponse<String> response = client.send(login(user), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(200);
+            tokens.add(response.body());
+        }
+
+        operations = List.of(
+                new Operation("tasks.list", 30, this::listTasks),
+                new Operation("tasks.get", 15, client -> get(client, "/api/tasks/" + pick(taskIds))),
+                new Operation("tasks.create", 8, this::createTask),
+                new Operation("tasks.update", 8, this::updateTask),
+                new Operation("auth.login", 2, client -> login(users.get(client))),
+                new Operation("users.list", 3, client -> get(client, "/api/users")),
+                new Operation("users.get", 5, client -> get(client, "/api/users/" + pick(users).getId())),
+                new Operation("users.update", 2, this::updateUser),
+                new Operation("labels.list", 6, client -> get(client, "/api/labels")),
+                new Operation("labels.get", 5, client -> get(client, "/api/labels/" + pick(labelIds))),
+                new Operation("labels.create", 1, client -> post(client, "/api/labels",
+                        Map.of("name", "label " + sequence.incrementAndGet()))),
+                new Operation("statuses.list", 8, client -> get(client, "/api/task_statuses")),
+                new Operation("statuses.get", 7, client -> get(client, "/api/task_statuses/" + pick(taskStatusIds))));
+    }
+
+    @Test
+    public void runMixedWorkload() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        drive(recorder, warmup);
+        recorder.reset();
+        drive(recorder, duration);
+
+        System.out.printf("Mixed workload at %d req/s for %ds against %d tasks and %d users%n", rate,
+                duration.toSeconds(), taskCount, userCount);
+        System.out.print(recorder.report(duration.toSeconds()));
+        assertThat(recorder.count()).isPositive();
+        assertThat(recorder.errors()).isZero();
+    }
+
+    private void drive(LatencyRecorder recorder, Duration period) throws InterruptedException {
+        int weights = operations.stream().mapToInt(Operation::weight).sum();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = period.toSeconds() * rate;
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long startedAt = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduledAt = startedAt + i * interval;
+            LockSupport.parkNanos(scheduledAt - System.nanoTime());
+            Operation operation = choose(weights);
+            if (!inFlight.tryAcquire()) {
+                recorder.record(operation.name(), System.nanoTime() - scheduledAt, false);
+                continue;
+            }
+            HttpRequest request = operation.request().apply(random.nextInt(users.size()));
+            CompletableFuture<HttpResponse<Void>> response = client.sendAsync(request,
+                    HttpResponse.BodyHandlers.discarding());
+            response.whenComplete((result, error) -> {
+                inFlight.release();
+                recorder.record(operation.name(), System.nanoTime() - scheduledAt,
+                        error == null && result.statusCode() < 400);
+            });
+        }
+        inFlight.acquire(MAX_IN_FLIGHT);
+    }
+
+    private Operation choose(int weights) {
+        int value = random.nextInt(weights);
+        for (Operation operation : operations) {
+            value -= operation.weight();
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    private HttpRequest listTasks(int client) {
+        String filter = switch (random.nextInt(4)) {
+            case 0 -> "status=" + pick(slugs);
+            case 1 -> "assigneeId=" + pick(users).getId();
+            case 2 -> "labelId=" + pick(labelIds);
+            default -> "titleCont=" + faker.lorem().word();
+        };
+        return get(client, "/api/tasks?limit=" + PAGE_SIZE + "&" + filter);
+    }
+
+    private HttpRequest createTask(int client) {
+        return post(client, "/api/tasks", Map.of(
+                "title", faker.lorem().sentence(4),
+                "content", faker.lorem().sentence(12),
+                "status", pick(slugs),
+                "assignee_id", users.get(client).getId(),
+                "taskLabelIds", List.of(pick(labelIds))));
+    }
+
+    private HttpRequest updateTask(int client) {
+        return send(client, "/api/tasks/" + pick(taskIds), "PUT", Map.of(
+                "title", faker.lorem().sentence(4),
+                "status", pick(slugs)));
+    }
+
+    private HttpRequest updateUser(int client) {
+        User user = users.get(client);
+        return send(client, "/api/users/" + user.getId(), "PUT", Map.of("firstName", faker.name().firstName()));
+    }
+
+    private HttpRequest login(User user) {
+        return request("/api/login")
+                .POST(HttpRequest.BodyPublishers.ofString(json(Map.of(
+                        "username", user.getEmail(),
+                        "password", PASSWORD))))
+                .build();
+    }
+
+    private HttpRequest get(int client, String path) {
+        return authorized(client, path).GET().build();
+    }
+
+    private HttpRequest post(int client, String path, Object body) {
+        return send(client, path, "POST", body);
+    }
+
+    private HttpRequest send(int client, String path, String method, Object body) {
+        return authorized(client, path)
+                .method(method, HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(int client, String path) {
+        return request(path).header("Authorization", "Bearer " + tokens.get(client));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private record Operation(String name, int weight, Function<Integer, HttpRequest> request) {
+    }
+}
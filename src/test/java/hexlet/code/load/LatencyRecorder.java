@@ -0,0 +1,78 @@
+package hexlet.code.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects latencies per endpoint. Latency runs from the moment a request was scheduled to be sent,
+ * so a server that falls behind the arrival rate shows up in the percentiles instead of hiding behind
+ * fewer requests.
+ */
+class LatencyRecorder {
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latencies.add(latencyNanos);
+        if (!success) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    String report(long seconds) {
+        StringBuilder report = new StringBuilder(String.format("%-16s %8s %8s %8s %10s %10s %10s%n",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms"));
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> report.append(line(entry.getKey(), entry.getValue(), seconds)));
+        Endpoint total = new Endpoint();
+        endpoints.values().forEach(endpoint -> {
+            total.latencies.addAll(endpoint.latencies);
+            total.errors.addAndGet(endpoint.errors.get());
+        });
+        return report.append(line("total", total, seconds)).toString();
+    }
+
+    private static String line(String name, Endpoint endpoint, long seconds) {
+        long[] latencies = endpoint.latencies.stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return String.format("%-16s %8d %8.1f %8d %10.2f %10.2f %10.2f%n", name, latencies.length,
+                latencies.length / (double) seconds, endpoint.errors.get(), percentile(latencies, 0.50),
+                percentile(latencies, 0.95), percentile(latencies, 0.99));
+    }
+
+    private static double percentile(long[] latencies, double quantile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * latencies.length) - 1;
+        return latencies[Math.max(index, 0)] / NANOS_IN_MILLI;
+    }
+
+    long errors() {
+        return endpoints.values().stream()
+                .mapToLong(endpoint -> endpoint.errors.get())
+                .sum();
+    }
+
+    long count() {
+        return endpoints.values().stream()
+                .mapToLong(endpoint -> endpoint.latencies.size())
+                .sum();
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
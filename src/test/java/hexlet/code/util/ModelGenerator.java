@@ -13,6 +13,8 @@ import org.instancio.Select;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 @Getter
 @Component
 public class ModelGenerator {
@@ -30,14 +32,16 @@ public class ModelGenerator {
                 .ignore(Select.field(User::getId))
                 .supply(Select.field(User::getFirstName), () -> faker.name().firstName())
                 .supply(Select.field(User::getLastName), () -> faker.name().lastName())
-                .supply(Select.field(User::getEmail), () -> faker.internet().emailAddress())
+                .supply(Select.field(User::getEmail), () -> UUID.randomUUID() + "." + faker.internet().emailAddress())
                 .supply(Select.field(User::getPasswordDigest), () -> faker.internet().password())
                 .ignore(Select.field((User::getTasks)))
+                .ignore(Select.field(User::getVersion))
                 .toModel();
 
         taskStatus = Instancio.of(TaskStatus.class)
                 .ignore(Select.field(TaskStatus::getId))
                 .ignore(Select.field(TaskStatus::getTasks))
+                .ignore(Select.field(TaskStatus::getVersion))
                 .supply(Select.field(TaskStatus::getName), () -> faker.text().text(5))
                 .supply(Select.field(TaskStatus::getSlug), () -> faker.text().text(5))
                 .toModel();
@@ -47,6 +51,7 @@ public class ModelGenerator {
                 .ignore(Select.field(Task::getAssignee))
                 .ignore(Select.field(Task::getTaskStatus))
                 .ignore(Select.field(Task::getLabels))
+                .ignore(Select.field(Task::getVersion))
                 .supply(Select.field(Task::getIndex), () -> faker.number().positive())
                 .supply(Select.field(Task::getName), () -> faker.text().text(5))
                 .supply(Select.field(Task::getDescription), () -> faker.text().text(5))
@@ -55,6 +60,7 @@ public class ModelGenerator {
         label = Instancio.of(Label.class)
                 .ignore(Select.field(Label::getId))
                 .ignore(Select.field(Label::getTasks))
+                .ignore(Select.field(Label::getVersion))
                 .supply(Select.field(Label::getName), () -> faker.text().text(5))
                 .toModel();
     }